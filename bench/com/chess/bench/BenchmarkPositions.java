@@ -0,0 +1,45 @@
+package com.chess.bench;
+
+import com.chess.engine.board.Board;
+import com.chess.pgn.FenUtilities;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+
+// The positions the benchmarks run on, chosen to cover the opening, a crowded middlegame with
+// every move type available, a quiet middlegame and a sparse endgame. Benchmarks take the name
+// as a JMH parameter, so results for different positions are reported side by side.
+final class BenchmarkPositions
+{
+    static final String START = "start";
+    static final String KIWIPETE = "kiwipete";
+    static final String MIDDLEGAME = "middlegame";
+    static final String ENDGAME = "endgame";
+
+    private static final Map<String, String> FENS = ImmutableMap.of(
+            START, "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+            KIWIPETE, "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            MIDDLEGAME, "r1bq1rk1/pp2bppp/2n1pn2/3p4/2PP4/2N1PN2/PP2BPPP/R2QKB1R w KQ - 0 8",
+            ENDGAME, "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1");
+
+    private BenchmarkPositions()
+    {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    static String fen(final String name)
+    {
+        final String fen = FENS.get(name);
+        if (fen == null)
+        {
+            throw new RuntimeException("Unknown benchmark position " + name);
+        }
+        return fen;
+    }
+
+    // A board freshly parsed from the position, with nothing generated or cached yet
+    static Board board(final String name)
+    {
+        return FenUtilities.createGameFromFEN(fen(name));
+    }
+}
@@ -0,0 +1,41 @@
+package com.chess.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Runs the engine benchmarks with the GC profiler, so every result comes with its allocation
+// rate (gc.alloc.rate.norm is bytes per operation) next to the throughput.
+//
+// The benchmarks live in their own source root and need jmh-core and, when compiling, the
+// jmh-generator-annprocess annotation processor on the classpath along with the engine classes:
+//
+//   javac -cp <engine classes>:<guava>:jmh-core.jar:jmh-generator-annprocess.jar -d bench-out bench/com/chess/bench/*.java
+//   java -cp bench-out:<engine classes>:<guava>:jmh-core.jar:<jmh dependencies> com.chess.bench.BenchmarkRunner [regex]
+//
+// The optional regular expression picks benchmarks by name, e.g. SearchBenchmark or MoveBenchmark.execute
+public final class BenchmarkRunner
+{
+    private static final int FORKS = 1;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 5;
+
+    private BenchmarkRunner()
+    {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    public static void main(final String[] args) throws RunnerException
+    {
+        final Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "com.chess.bench.*")
+                .addProfiler(GCProfiler.class)
+                .forks(FORKS)
+                .warmupIterations(WARMUP_ITERATIONS)
+                .measurementIterations(MEASUREMENT_ITERATIONS)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,71 @@
+package com.chess.bench;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost of creating boards. Move lists and the game state are computed lazily, so build alone
+// measures the board itself; buildAndGenerateMoves adds what the first look at the moves costs.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BoardBenchmark
+{
+    @Param({BenchmarkPositions.START, BenchmarkPositions.KIWIPETE, BenchmarkPositions.MIDDLEGAME, BenchmarkPositions.ENDGAME})
+    public String position;
+
+    private List<Piece> pieces;
+    private Alliance moveMaker;
+
+    @Setup
+    public void setUp()
+    {
+        final Board board = BenchmarkPositions.board(this.position);
+        this.pieces = new ArrayList<>(board.getWhitePieces());
+        this.pieces.addAll(board.getBlackPieces());
+        this.moveMaker = board.currentPlayer().getAlliance();
+    }
+
+    @Benchmark
+    public Board createStandardBoard()
+    {
+        return Board.createStandardBoard();
+    }
+
+    @Benchmark
+    public Board build()
+    {
+        return newBuilder().build();
+    }
+
+    @Benchmark
+    public Collection<Move> buildAndGenerateMoves()
+    {
+        return newBuilder().build().currentPlayer().getLegalMoves();
+    }
+
+    private Board.Builder newBuilder()
+    {
+        final Board.Builder builder = new Board.Builder();
+        for (final Piece piece : this.pieces)
+        {
+            builder.setPiece(piece);
+        }
+        builder.setMoveMaker(this.moveMaker);
+        return builder;
+    }
+}
@@ -0,0 +1,43 @@
+package com.chess.bench;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.player.ai.BoardEvaluator;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// Static evaluation of a position. The board is reused, so whatever the evaluator asks of it
+// (legal moves for mobility, check status) is generated on the first call only and this
+// measures the evaluation itself.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EvaluationBenchmark
+{
+    @Param({BenchmarkPositions.START, BenchmarkPositions.KIWIPETE, BenchmarkPositions.MIDDLEGAME, BenchmarkPositions.ENDGAME})
+    public String position;
+
+    private Board board;
+    private BoardEvaluator evaluator;
+
+    @Setup
+    public void setUp()
+    {
+        this.board = BenchmarkPositions.board(this.position);
+        this.evaluator = new StandardBoardEvaluator();
+    }
+
+    @Benchmark
+    public int evaluate()
+    {
+        return this.evaluator.evaluate(this.board, 0);
+    }
+}
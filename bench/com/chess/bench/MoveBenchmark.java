@@ -0,0 +1,81 @@
+package com.chess.bench;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.MoveTransition;
+import com.chess.pgn.FenUtilities;
+import com.chess.uci.UciEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// Playing a single move of each kind: Move.execute builds the board after the move, while
+// Player.makeMove also looks the move up among the legal moves first. The legal moves of the
+// benchmark board are generated once during setup, so makeMove measures the lookup only.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MoveBenchmark
+{
+    public enum MoveType
+    {
+        MAJOR_MOVE(BenchmarkPositions.fen(BenchmarkPositions.START), "g1f3", Move.MajorMove.class),
+        MAJOR_ATTACK_MOVE(BenchmarkPositions.fen(BenchmarkPositions.KIWIPETE), "e5f7", Move.MajorAttackMove.class),
+        PAWN_MOVE(BenchmarkPositions.fen(BenchmarkPositions.START), "e2e3", Move.PawnMove.class),
+        PAWN_JUMP(BenchmarkPositions.fen(BenchmarkPositions.START), "e2e4", Move.PawnJump.class),
+        PAWN_ATTACK_MOVE(BenchmarkPositions.fen(BenchmarkPositions.KIWIPETE), "d5e6", Move.PawnAttackMove.class),
+        PAWN_EN_PASSANT_ATTACK_MOVE("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3", "e5f6",
+                Move.PawnEnPassantAttackMove.class),
+        PAWN_PROMOTION("8/P6k/8/8/8/8/6K1/8 w - - 0 1", "a7a8q", Move.PawnPromotion.class),
+        KING_SIDE_CASTLE_MOVE(BenchmarkPositions.fen(BenchmarkPositions.KIWIPETE), "e1g1", Move.KingSideCastleMove.class),
+        QUEEN_SIDE_CASTLE_MOVE(BenchmarkPositions.fen(BenchmarkPositions.KIWIPETE), "e1c1", Move.QueenSideCastleMove.class);
+
+        private final String fen;
+        private final String move;
+        private final Class<? extends Move> moveClass;
+
+        MoveType(final String fen, final String move, final Class<? extends Move> moveClass)
+        {
+            this.fen = fen;
+            this.move = move;
+            this.moveClass = moveClass;
+        }
+    }
+
+    @Param
+    public MoveType moveType;
+
+    private Board board;
+    private Move move;
+
+    @Setup
+    public void setUp()
+    {
+        this.board = FenUtilities.createGameFromFEN(this.moveType.fen);
+        this.move = UciEngine.parseMove(this.board, this.moveType.move);
+        if (this.move.getClass() != this.moveType.moveClass)
+        {
+            throw new RuntimeException(this.moveType + ": " + this.moveType.move + " is a " +
+                    this.move.getClass().getSimpleName() + " in " + this.moveType.fen);
+        }
+    }
+
+    @Benchmark
+    public Board execute()
+    {
+        return this.move.execute();
+    }
+
+    @Benchmark
+    public MoveTransition makeMove()
+    {
+        return this.board.currentPlayer().makeMove(this.move);
+    }
+}
@@ -0,0 +1,65 @@
+package com.chess.bench;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.pieces.Piece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Pseudo-legal move generation of one kind of piece: every piece of that kind on the board,
+// of both colours, generates its moves once per operation. Positions without such a piece
+// (no queens in the endgame) measure an empty loop.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MoveGenerationBenchmark
+{
+    @Param({BenchmarkPositions.START, BenchmarkPositions.KIWIPETE, BenchmarkPositions.MIDDLEGAME, BenchmarkPositions.ENDGAME})
+    public String position;
+
+    @Param
+    public Piece.PieceType pieceType;
+
+    private Board board;
+    private List<Piece> pieces;
+
+    @Setup
+    public void setUp()
+    {
+        this.board = BenchmarkPositions.board(this.position);
+        this.pieces = new ArrayList<>();
+        for (final Piece piece : this.board.getWhitePieces())
+        {
+            if (piece.getPieceType() == this.pieceType)
+            {
+                this.pieces.add(piece);
+            }
+        }
+        for (final Piece piece : this.board.getBlackPieces())
+        {
+            if (piece.getPieceType() == this.pieceType)
+            {
+                this.pieces.add(piece);
+            }
+        }
+    }
+
+    @Benchmark
+    public void calculateLegalMoves(final Blackhole blackhole)
+    {
+        for (final Piece piece : this.pieces)
+        {
+            blackhole.consume(piece.calculateLegalMoves(this.board));
+        }
+    }
+}
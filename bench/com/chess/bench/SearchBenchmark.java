@@ -0,0 +1,69 @@
+package com.chess.bench;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.MiniMax;
+import com.chess.engine.player.ai.SearchParameters;
+import com.chess.engine.player.ai.SearchResult;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import com.chess.engine.player.ai.TranspositionTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// Fixed depth searches. Every operation starts from a freshly parsed board so no move list is
+// reused between operations, and AlphaBeta starts each one with an empty transposition table
+// and no killers or history, as at the start of a game.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SearchBenchmark
+{
+    private static final int HASH_SIZE_MB = 16;
+
+    @Param({BenchmarkPositions.START, BenchmarkPositions.KIWIPETE, BenchmarkPositions.MIDDLEGAME, BenchmarkPositions.ENDGAME})
+    public String position;
+
+    @Param({"1", "2", "3"})
+    public int depth;
+
+    private MiniMax miniMax;
+    private AlphaBeta alphaBeta;
+    private Board board;
+
+    @Setup
+    public void setUp()
+    {
+        this.miniMax = new MiniMax(this.depth);
+        this.alphaBeta = new AlphaBeta(this.depth, new StandardBoardEvaluator(), SearchParameters.DEFAULT,
+                new TranspositionTable(HASH_SIZE_MB));
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation()
+    {
+        this.board = BenchmarkPositions.board(this.position);
+        this.alphaBeta.clear();
+    }
+
+    @Benchmark
+    public Move miniMax()
+    {
+        return this.miniMax.execute(this.board);
+    }
+
+    @Benchmark
+    public SearchResult alphaBeta()
+    {
+        return this.alphaBeta.search(this.board);
+    }
+}
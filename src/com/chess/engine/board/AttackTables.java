@@ -0,0 +1,178 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+
+import java.util.Arrays;
+
+// Attack patterns computed once for every square: bitboards (bit n = tile n) of the squares a
+// knight, king or pawn standing there attacks, and for the sliding pieces the squares along
+// each of the eight rays in order of distance. Asking whether a square is attacked then takes
+// a few table lookups, with the sliders looked up in MagicBitboards, instead of generating
+// and scanning the opponent's moves.
+public final class AttackTables
+{
+    // Ray directions; the first four are diagonal, the last four straight
+    public static final int UP_LEFT = 0;
+    public static final int UP_RIGHT = 1;
+    public static final int DOWN_LEFT = 2;
+    public static final int DOWN_RIGHT = 3;
+    public static final int UP = 4;
+    public static final int DOWN = 5;
+    public static final int LEFT = 6;
+    public static final int RIGHT = 7;
+    public static final int NUM_DIRECTIONS = 8;
+
+    private static final int[] DIRECTION_ROW_STEPS = {-1, -1, 1, 1, -1, 1, 0, 0};
+    private static final int[] DIRECTION_COLUMN_STEPS = {-1, 1, -1, 1, 0, 0, -1, 1};
+
+    private static final int[][] KNIGHT_STEPS = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+    private static final int[][] KING_STEPS = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+    // White pawns move towards row 0, black pawns towards row 7
+    private static final int[][] WHITE_PAWN_STEPS = {{-1, -1}, {-1, 1}};
+    private static final int[][] BLACK_PAWN_STEPS = {{1, -1}, {1, 1}};
+
+    private static final long[] KNIGHT_ATTACKS = initAttacks(KNIGHT_STEPS);
+    private static final long[] KING_ATTACKS = initAttacks(KING_STEPS);
+    private static final long[] WHITE_PAWN_ATTACKS = initAttacks(WHITE_PAWN_STEPS);
+    private static final long[] BLACK_PAWN_ATTACKS = initAttacks(BLACK_PAWN_STEPS);
+    private static final int[][][] RAYS = initRays();
+    private static final long[][] BETWEEN = initBetween();
+
+    private AttackTables()
+    {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    public static long knightAttacks(final int square)
+    {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    public static long kingAttacks(final int square)
+    {
+        return KING_ATTACKS[square];
+    }
+
+    // The squares a pawn of the given colour standing on the square attacks
+    public static long pawnAttacks(final Alliance alliance, final int square)
+    {
+        return alliance.isWhite() ? WHITE_PAWN_ATTACKS[square] : BLACK_PAWN_ATTACKS[square];
+    }
+
+    // The squares from the square to the edge of the board in the direction, nearest first
+    public static int[] ray(final int direction, final int square)
+    {
+        return RAYS[direction][square];
+    }
+
+    // The squares strictly between two squares on a common rank, file or diagonal, otherwise none
+    public static long between(final int from, final int to)
+    {
+        return BETWEEN[from][to];
+    }
+
+    public static boolean isDiagonal(final int direction)
+    {
+        return direction < UP;
+    }
+
+    public static boolean isSquareAttacked(final Board board, final int square, final Alliance attacker)
+    {
+        // A pawn attacks the square exactly when a pawn of the other colour on the square would attack it
+        final Alliance defender = attacker.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        if (containsPiece(board, pawnAttacks(defender, square), attacker, Piece.PieceType.PAWN) ||
+            containsPiece(board, KNIGHT_ATTACKS[square], attacker, Piece.PieceType.KNIGHT) ||
+            containsPiece(board, KING_ATTACKS[square], attacker, Piece.PieceType.KING))
+        {
+            return true;
+        }
+        final long occupancy = board.getOccupancy();
+        final long diagonalAttacks = MagicBitboards.bishopAttacks(square, occupancy) & board.getOccupancy(attacker);
+        final long straightAttacks = MagicBitboards.rookAttacks(square, occupancy) & board.getOccupancy(attacker);
+        return containsPiece(board, diagonalAttacks, attacker, Piece.PieceType.BISHOP) ||
+               containsPiece(board, straightAttacks, attacker, Piece.PieceType.ROOK) ||
+               containsPiece(board, diagonalAttacks | straightAttacks, attacker, Piece.PieceType.QUEEN);
+    }
+
+    private static boolean containsPiece(final Board board,
+                                         long squares,
+                                         final Alliance alliance,
+                                         final Piece.PieceType pieceType)
+    {
+        while (squares != 0)
+        {
+            final Piece piece = board.getTile(Long.numberOfTrailingZeros(squares)).getPiece();
+            if (piece != null && piece.getPieceAlliance() == alliance && piece.getPieceType() == pieceType)
+            {
+                return true;
+            }
+            squares &= squares - 1;
+        }
+        return false;
+    }
+
+    private static long[] initAttacks(final int[][] steps)
+    {
+        final long[] attacks = new long[BoardUtils.NUM_TILES];
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++)
+        {
+            for (final int[] step : steps)
+            {
+                final int row = square / BoardUtils.NUM_TILES_PER_ROW + step[0];
+                final int column = square % BoardUtils.NUM_TILES_PER_ROW + step[1];
+                if (isOnBoard(row, column))
+                {
+                    attacks[square] |= 1L << (row * BoardUtils.NUM_TILES_PER_ROW + column);
+                }
+            }
+        }
+        return attacks;
+    }
+
+    private static int[][][] initRays()
+    {
+        final int[][][] rays = new int[NUM_DIRECTIONS][BoardUtils.NUM_TILES][];
+        for (int direction = 0; direction < NUM_DIRECTIONS; direction++)
+        {
+            for (int square = 0; square < BoardUtils.NUM_TILES; square++)
+            {
+                final int[] buffer = new int[BoardUtils.NUM_TILES_PER_ROW];
+                int length = 0;
+                int row = square / BoardUtils.NUM_TILES_PER_ROW + DIRECTION_ROW_STEPS[direction];
+                int column = square % BoardUtils.NUM_TILES_PER_ROW + DIRECTION_COLUMN_STEPS[direction];
+                while (isOnBoard(row, column))
+                {
+                    buffer[length++] = row * BoardUtils.NUM_TILES_PER_ROW + column;
+                    row += DIRECTION_ROW_STEPS[direction];
+                    column += DIRECTION_COLUMN_STEPS[direction];
+                }
+                rays[direction][square] = Arrays.copyOf(buffer, length);
+            }
+        }
+        return rays;
+    }
+
+    private static long[][] initBetween()
+    {
+        final long[][] between = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+        for (int from = 0; from < BoardUtils.NUM_TILES; from++)
+        {
+            for (int direction = 0; direction < NUM_DIRECTIONS; direction++)
+            {
+                long squares = 0;
+                for (final int to : RAYS[direction][from])
+                {
+                    between[from][to] = squares;
+                    squares |= 1L << to;
+                }
+            }
+        }
+        return between;
+    }
+
+    private static boolean isOnBoard(final int row, final int column)
+    {
+        return row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW && column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW;
+    }
+}
@@ -5,6 +5,8 @@ import com.chess.engine.pieces.*;
 import com.chess.engine.player.BlackPlayer;
 import com.chess.engine.player.Player;
 import com.chess.engine.player.WhitePlayer;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 
@@ -12,6 +14,8 @@ import java.util.*;
 
 public class Board
 {
+    public static final int FIFTY_MOVE_RULE_PLIES = 100;
+
     private final List<Tile> gameBoard;
     private final Collection<Piece> whitePieces;
     private final Collection<Piece> blackPieces;
@@ -20,20 +24,47 @@ public class Board
     private final BlackPlayer blackPlayer;
     private final Player currentPlayer;
 
+    private final long whiteOccupancy;
+    private final long blackOccupancy;
+
     private final Pawn enPassantPawn;
+    private final long zobristHash;
+
+    // Plies since the last capture or pawn move, and the positions reached in those plies
+    private final int halfmoveClock;
+    private final PositionHistory history;
+
+    private final Supplier<GameState> gameState;
 
     private Board(final Builder builder)
     {
         this.gameBoard = createGameBoard(builder);
         this.whitePieces = calculateActivePieces(this.gameBoard, Alliance.WHITE);
         this.blackPieces = calculateActivePieces(this.gameBoard,Alliance.BLACK);
+        this.whiteOccupancy = calculateOccupancy(this.whitePieces);
+        this.blackOccupancy = calculateOccupancy(this.blackPieces);
         this.enPassantPawn = builder.enPassantPawn;
-        final Collection<Move> whiteStandardLegalMoves = calculateLegalMoves (this.whitePieces);
-        final Collection<Move> blackStandardLegalMoves = calculateLegalMoves (this.blackPieces);
+        this.zobristHash = Zobrist.hash(this.gameBoard, this.enPassantPawn, builder.nextMoveMaker);
+        if (builder.previousBoard == null || builder.resetsHalfmoveClock)
+        {
+            // Nothing before a capture or pawn move can come back
+            this.halfmoveClock = builder.previousBoard == null ? builder.halfmoveClock : 0;
+            this.history = null;
+        }
+        else
+        {
+            this.halfmoveClock = builder.previousBoard.halfmoveClock + 1;
+            this.history = new PositionHistory(builder.previousBoard.zobristHash, builder.previousBoard.history);
+        }
+        // Moves are only generated when a player's moves are first asked for; many boards are
+        // built just to be drawn, hashed or have a single tile read
+        final Supplier<Collection<Move>> whiteStandardLegalMoves = Suppliers.memoize(() -> calculateLegalMoves(this.whitePieces));
+        final Supplier<Collection<Move>> blackStandardLegalMoves = Suppliers.memoize(() -> calculateLegalMoves(this.blackPieces));
 
-        this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-        this.blackPlayer = new BlackPlayer(this,whiteStandardLegalMoves,blackStandardLegalMoves);
+        this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves);
+        this.blackPlayer = new BlackPlayer(this, blackStandardLegalMoves);
         this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer,this.blackPlayer);
+        this.gameState = Suppliers.memoize(this::calculateGameState);
     }
 
     @Override
@@ -65,11 +96,137 @@ public class Board
 
     public Pawn getEnPassantPawn(){return this.enPassantPawn;}
 
+    public long getZobristHash()
+    {
+        return this.zobristHash;
+    }
+
+    public int getHalfmoveClock()
+    {
+        return this.halfmoveClock;
+    }
+
+    public boolean isFiftyMoveRule()
+    {
+        return this.halfmoveClock >= FIFTY_MOVE_RULE_PLIES;
+    }
+
+    // Whether this position already occurred since the last capture or pawn move
+    public boolean isRepetition()
+    {
+        return countRepetitions(1) > 0;
+    }
+
+    // Threefold repetition: the position occurred twice before
+    public boolean isThreefoldRepetition()
+    {
+        return countRepetitions(2) >= 2;
+    }
+
+    // Earlier occurrences of this position, counting at most up to the limit. The key includes
+    // the side to move, so only every other earlier position can match.
+    private int countRepetitions(final int limit)
+    {
+        int repetitions = 0;
+        PositionHistory position = this.history != null ? this.history.previous : null;
+        while (position != null && repetitions < limit)
+        {
+            if (position.zobristHash == this.zobristHash)
+            {
+                repetitions++;
+            }
+            position = position.previous != null ? position.previous.previous : null;
+        }
+        return repetitions;
+    }
+
+    // Worked out on first use; no legal moves are generated past the first one found
+    public GameState getGameState()
+    {
+        return this.gameState.get();
+    }
+
+    private GameState calculateGameState()
+    {
+        if (!this.currentPlayer.hasEscapeMoves())
+        {
+            return this.currentPlayer.isInCheck() ? GameState.CHECKMATE : GameState.STALEMATE;
+        }
+        if (isFiftyMoveRule())
+        {
+            return GameState.FIFTY_MOVE;
+        }
+        if (isThreefoldRepetition())
+        {
+            return GameState.REPETITION;
+        }
+        if (isInsufficientMaterial())
+        {
+            return GameState.INSUFFICIENT_MATERIAL;
+        }
+        return GameState.ONGOING;
+    }
+
+    // Neither side can mate: bare kings, a single minor piece, or only bishops all on squares
+    // of one colour
+    public boolean isInsufficientMaterial()
+    {
+        int knights = 0;
+        int lightSquareBishops = 0;
+        int darkSquareBishops = 0;
+        for (final Piece piece : Iterables.concat(this.whitePieces, this.blackPieces))
+        {
+            switch (piece.getPieceType())
+            {
+                case KING:
+                    break;
+                case KNIGHT:
+                    knights++;
+                    break;
+                case BISHOP:
+                    final int position = piece.getPiecePosition();
+                    if ((position / BoardUtils.NUM_TILES_PER_ROW + position % BoardUtils.NUM_TILES_PER_ROW) % 2 == 0)
+                    {
+                        lightSquareBishops++;
+                    }
+                    else
+                    {
+                        darkSquareBishops++;
+                    }
+                    break;
+                default:
+                    return false;
+            }
+        }
+        final int bishops = lightSquareBishops + darkSquareBishops;
+        if (knights == 0)
+        {
+            return lightSquareBishops == 0 || darkSquareBishops == 0;
+        }
+        return knights == 1 && bishops == 0;
+    }
+
     public Player currentPlayer()
     {
         return this.currentPlayer;
     }
 
+    // Bitboards of the occupied tiles, bit n standing for tile n
+    public long getOccupancy()
+    {
+        return this.whiteOccupancy | this.blackOccupancy;
+    }
+
+    public long getOccupancy(final Alliance alliance)
+    {
+        return alliance.isWhite() ? this.whiteOccupancy : this.blackOccupancy;
+    }
+
+    public boolean isSquareAttacked(final int square, final Alliance attacker)
+    {
+        return AttackTables.isSquareAttacked(this, square, attacker);
+    }
+
     public Collection<Piece> getBlackPieces(){
         return this.blackPieces;
     }
@@ -88,6 +245,16 @@ public class Board
         return ImmutableList.copyOf(legalMoves);
     }
 
+    private static long calculateOccupancy(final Collection<Piece> pieces)
+    {
+        long occupancy = 0;
+        for (final Piece piece : pieces)
+        {
+            occupancy |= 1L << piece.getPiecePosition();
+        }
+        return occupancy;
+    }
+
     private static Collection<Piece> calculateActivePieces(final List<Tile> gameBoard, final Alliance alliance )
     {
         final List<Piece> activePieces = new ArrayList<>();
@@ -169,11 +336,27 @@ public class Board
         return Iterables.unmodifiableIterable(Iterables.concat(this.whitePlayer.getLegalMoves(), this.blackPlayer.getLegalMoves()));
     }
 
+    // Zobrist keys of the earlier positions, newest first; boards share the common tail
+    private static final class PositionHistory
+    {
+        private final long zobristHash;
+        private final PositionHistory previous;
+
+        private PositionHistory(final long zobristHash, final PositionHistory previous)
+        {
+            this.zobristHash = zobristHash;
+            this.previous = previous;
+        }
+    }
+
     public static class Builder
     {
         Map<Integer, Piece> boardConfig;
         Alliance nextMoveMaker;
         Pawn enPassantPawn;
+        Board previousBoard;
+        boolean resetsHalfmoveClock;
+        int halfmoveClock;
 
         public Builder()
         {
@@ -199,5 +382,20 @@ public class Board
         {
             this.enPassantPawn = enPassantPawn;
         }
+
+        // The board a move was played on, so the new board continues its history
+        public Builder setPreviousBoard(final Board previousBoard, final boolean resetsHalfmoveClock)
+        {
+            this.previousBoard = previousBoard;
+            this.resetsHalfmoveClock = resetsHalfmoveClock;
+            return this;
+        }
+
+        // For a position set up without its history, e.g. from FEN
+        public Builder setHalfmoveClock(final int halfmoveClock)
+        {
+            this.halfmoveClock = halfmoveClock;
+            return this;
+        }
     }
 }
@@ -0,0 +1,30 @@
+package com.chess.engine.board;
+
+public enum GameState
+{
+    ONGOING(false, false),
+    CHECKMATE(true, false),
+    STALEMATE(true, true),
+    INSUFFICIENT_MATERIAL(true, true),
+    REPETITION(true, true),
+    FIFTY_MOVE(true, true);
+
+    private final boolean gameOver;
+    private final boolean draw;
+
+    GameState(final boolean gameOver, final boolean draw)
+    {
+        this.gameOver = gameOver;
+        this.draw = draw;
+    }
+
+    public boolean isGameOver()
+    {
+        return this.gameOver;
+    }
+
+    public boolean isDraw()
+    {
+        return this.draw;
+    }
+}
@@ -0,0 +1,155 @@
+package com.chess.engine.board;
+
+// Sliding piece attacks by magic bitboard lookup. For every square the occupied squares that
+// can block a bishop or rook (edges excluded) are multiplied by a magic number; the top bits of
+// the product index a table holding the attack set for that blocker arrangement, so a slider's
+// attacks cost one mask, one multiply and one shift. Bit n of every bitboard is tile n.
+//
+// The magic numbers below were found once by trying sparse random numbers until one mapped
+// every blocker arrangement of the square without a harmful collision. They only hold for this
+// tile numbering (tile 0 = a8) and these masks; class loading just fills in the tables.
+public final class MagicBitboards
+{
+    private static final long[] BISHOP_MAGIC_NUMBERS = {
+        0x8204410208020880L, 0x8820814101010000L, 0x0504484081040080L, 0x0844040482000000L,
+        0x1822021104104000L, 0x0102015008200820L, 0x00C4008411085080L, 0x424200404404A001L,
+        0x2004102481840400L, 0x0407210800810040L, 0x2500484203421200L, 0x0004040400980002L,
+        0x0310011040800010L, 0x2200084130101840L, 0x0004020824420808L, 0x0000160201040300L,
+        0x0810800920018400L, 0x0218186021011E02L, 0x000D908800840080L, 0x8081045024008004L,
+        0x0014000188A00000L, 0xC001020200820100L, 0x0002244101012000L, 0x0002010080410810L,
+        0x206021A104C80220L, 0x1024701002220820L, 0x0020900002040510L, 0x1020080001040488L,
+        0x2004040000410040L, 0x8410002001040105L, 0x0006020242484201L, 0x004040840200AC00L,
+        0x801403200448A080L, 0x8008980844200201L, 0x0004002818840240L, 0x0000020080080082L,
+        0x0010020080001004L, 0x483004A020020200L, 0x0008120400004101L, 0x81208200401A1100L,
+        0x21482882100C0800L, 0x0000420844002000L, 0x4300104028047000L, 0x9002204010420200L,
+        0x6000200410460404L, 0x0004008802000842L, 0x0420614420800100L, 0x00C1214A02040080L,
+        0x20A2108220108008L, 0x0808840421050010L, 0x1000004208440003L, 0x4114800084044310L,
+        0x0002000405040200L, 0x0400100210011000L, 0x0820A04280810801L, 0x0030044800604048L,
+        0x8002010410AC2400L, 0x4180004052182044L, 0x881604420609040AL, 0x0000050206050400L,
+        0x0008222410020204L, 0x0222004811012200L, 0x0000845030010104L, 0x2820082081204200L
+    };
+    private static final long[] ROOK_MAGIC_NUMBERS = {
+        0x1280002040008018L, 0x0200120021008044L, 0x0200088200204010L, 0x2080080005801000L,
+        0x4200100820020004L, 0x0500010002080400L, 0x0880090000802600L, 0x2080004100102880L,
+        0x0080800020804000L, 0x0002004029008200L, 0x0017801000802000L, 0x00220040100A0020L,
+        0x0040800400080080L, 0x01C4800400020080L, 0x4204000402100801L, 0x1001002042008100L,
+        0x6280004020004000L, 0x1010044040082000L, 0x000082801000E000L, 0x4401010020081000L,
+        0x0008008080040008L, 0x0447010002080400L, 0x2900040038292210L, 0x0004120000A8410CL,
+        0x3040004080008020L, 0x0000200140015000L, 0x0040200100184100L, 0x2008040880100080L,
+        0x0024040080080082L, 0x0014008080040200L, 0x00A1820080800100L, 0x4041029A00040045L,
+        0x0280002000404000L, 0x0001002081004000L, 0x0210040020200802L, 0x0801800804801000L,
+        0x0010800800800400L, 0x0402001004040020L, 0x0040100104000288L, 0x0A0208A042000114L,
+        0x0000800040008022L, 0x0040002000408080L, 0x8000801022020040L, 0x0006000A20420010L,
+        0x0008010010050008L, 0x0046001004020008L, 0x0001300112140018L, 0x8200034424820001L,
+        0x510080010A402900L, 0x0400804000200080L, 0x8008104422008200L, 0x0010480080100180L,
+        0x0206000408102200L, 0x808A000280040080L, 0x8820024801100400L, 0x4086040100A04200L,
+        0x0006004080221902L, 0x0001004004221281L, 0x404C422000090011L, 0x942A001008A04006L,
+        0x0141002800423005L, 0x0001000804000201L, 0x0043000200008401L, 0x0000082081044412L
+    };
+
+    private static final int[] BISHOP_DIRECTIONS = {
+        AttackTables.UP_LEFT, AttackTables.UP_RIGHT, AttackTables.DOWN_LEFT, AttackTables.DOWN_RIGHT
+    };
+    private static final int[] ROOK_DIRECTIONS = {
+        AttackTables.UP, AttackTables.DOWN, AttackTables.LEFT, AttackTables.RIGHT
+    };
+
+    private static final Magic[] BISHOP_MAGICS = initMagics(BISHOP_DIRECTIONS, BISHOP_MAGIC_NUMBERS);
+    private static final Magic[] ROOK_MAGICS = initMagics(ROOK_DIRECTIONS, ROOK_MAGIC_NUMBERS);
+
+    private MagicBitboards()
+    {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    public static long bishopAttacks(final int square, final long occupancy)
+    {
+        return BISHOP_MAGICS[square].attacks(occupancy);
+    }
+
+    public static long rookAttacks(final int square, final long occupancy)
+    {
+        return ROOK_MAGICS[square].attacks(occupancy);
+    }
+
+    public static long queenAttacks(final int square, final long occupancy)
+    {
+        return bishopAttacks(square, occupancy) | rookAttacks(square, occupancy);
+    }
+
+    private static final class Magic
+    {
+        private final long mask;
+        private final long magic;
+        private final int shift;
+        private final long[] attacks;
+
+        private Magic(final long mask, final long magic, final int shift, final long[] attacks)
+        {
+            this.mask = mask;
+            this.magic = magic;
+            this.shift = shift;
+            this.attacks = attacks;
+        }
+
+        private long attacks(final long occupancy)
+        {
+            return this.attacks[(int) (((occupancy & this.mask) * this.magic) >>> this.shift)];
+        }
+    }
+
+    private static Magic[] initMagics(final int[] directions, final long[] magicNumbers)
+    {
+        final Magic[] magics = new Magic[BoardUtils.NUM_TILES];
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++)
+        {
+            final long mask = blockerMask(square, directions);
+            final long magic = magicNumbers[square];
+            final int shift = Long.SIZE - Long.bitCount(mask);
+            final long[] attacks = new long[1 << Long.bitCount(mask)];
+            // Walk every subset of the mask with the carry-rippler trick
+            long subset = 0;
+            do
+            {
+                attacks[(int) ((subset * magic) >>> shift)] = slowAttacks(square, subset, directions);
+                subset = (subset - mask) & mask;
+            }
+            while (subset != 0);
+            magics[square] = new Magic(mask, magic, shift, attacks);
+        }
+        return magics;
+    }
+
+    // The squares that can block the slider, leaving out the last square of each ray since a
+    // piece there cannot hide anything behind it
+    private static long blockerMask(final int square, final int[] directions)
+    {
+        long mask = 0;
+        for (final int direction : directions)
+        {
+            final int[] ray = AttackTables.ray(direction, square);
+            for (int i = 0; i < ray.length - 1; i++)
+            {
+                mask |= 1L << ray[i];
+            }
+        }
+        return mask;
+    }
+
+    private static long slowAttacks(final int square, final long occupancy, final int[] directions)
+    {
+        long attacks = 0;
+        for (final int direction : directions)
+        {
+            for (final int target : AttackTables.ray(direction, square))
+            {
+                attacks |= 1L << target;
+                if ((occupancy & (1L << target)) != 0)
+                {
+                    break;
+                }
+            }
+        }
+        return attacks;
+    }
+}
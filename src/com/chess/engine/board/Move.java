@@ -148,6 +148,32 @@ public abstract class Move {
         return null;
     }
 
+    // Captures and pawn moves cannot be undone, so they restart the fifty-move count
+    public boolean resetsHalfmoveClock()
+    {
+        return isAttack() || (this.pieceToBeMoved != null && this.pieceToBeMoved.getPieceType() == Piece.PieceType.PAWN);
+    }
+
+    // The kind of piece a promoting pawn turns into, null for every other move
+    public Piece.PieceType getPromotionType()
+    {
+        return null;
+    }
+
+    // Identifies a move among the legal moves of one position
+    public int getPackedKey()
+    {
+        return packKey(getCurrentCoordinate(), this.destinationCoordinate, getPromotionType());
+    }
+
+    public static int packKey(final int currentCoordinate,
+                              final int destinationCoordinate,
+                              final Piece.PieceType promotionType)
+    {
+        final int promotionCode = promotionType != null ? promotionType.ordinal() + 1 : 0;
+        return currentCoordinate | (destinationCoordinate << 6) | (promotionCode << 12);
+    }
+
     public Board execute()
     {
         final Builder builder = new Builder();
@@ -167,6 +193,7 @@ public abstract class Move {
 
         builder.setPiece(this.pieceToBeMoved.movePiece(this));
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+        builder.setPreviousBoard(this.board, resetsHalfmoveClock());
         return builder.build();
     }
 
@@ -248,6 +275,7 @@ public abstract class Move {
 
             builder.setPiece(this.pieceToBeMoved.movePiece(this));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setPreviousBoard(this.board, resetsHalfmoveClock());
             return builder.build();
         }
 
@@ -370,6 +398,7 @@ public abstract class Move {
 
             builder.setPiece(this.promotedPawn.getPromotionPiece().movePiece(this));
             builder.setMoveMaker(pawnMovedBoard.currentPlayer().getAlliance());
+            builder.setPreviousBoard(this.board, resetsHalfmoveClock());
             return builder.build();
         }
 
@@ -385,6 +414,12 @@ public abstract class Move {
             return this.decoratedMove.getAttackedPiece();
         }
 
+        @Override
+        public Piece.PieceType getPromotionType()
+        {
+            return this.promotedPawn.getPromotionPiece().getPieceType();
+        }
+
         @Override
         public String toString()
         {
@@ -420,6 +455,7 @@ public abstract class Move {
             builder.setPiece(movedPawn);
             builder.setEnPassantPawn(movedPawn);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setPreviousBoard(this.board, resetsHalfmoveClock());
             return builder.build();
         }
 
@@ -466,6 +502,7 @@ public abstract class Move {
             }
             builder.setPiece(this.pieceToBeMoved.movePiece(this));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setPreviousBoard(this.board, resetsHalfmoveClock());
             return builder.build();
         }
 
@@ -521,6 +558,7 @@ public abstract class Move {
 
             builder.setPiece(new Rook(this.castleRook.getPieceAlliance(), this.castleRookDestination));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setPreviousBoard(this.board, resetsHalfmoveClock());
             return builder.build();
         }
 
@@ -632,13 +670,19 @@ public abstract class Move {
                                       final int currentCoordinate,
                                       final int destinationCoordinate)
         {
-            for (final Move move: board.getAllLegalMoves())
-            {
-                if(move.getCurrentCoordinate()== currentCoordinate &&
-                move.getDestinationCoordinate() == destinationCoordinate)
-                {return move;}
-            }
-            return NULL_MOVE;
+            final Move move = createMove(board, currentCoordinate, destinationCoordinate, null);
+            // A pawn reaching the last row has to promote; without a choice it becomes a queen
+            return move != NULL_MOVE ? move
+                                     : createMove(board, currentCoordinate, destinationCoordinate, Piece.PieceType.QUEEN);
+        }
+
+        public static Move createMove(final Board board,
+                                      final int currentCoordinate,
+                                      final int destinationCoordinate,
+                                      final Piece.PieceType promotionType)
+        {
+            final Move move = board.currentPlayer().getLegalMove(currentCoordinate, destinationCoordinate, promotionType);
+            return move != null ? move : NULL_MOVE;
         }
 
     }
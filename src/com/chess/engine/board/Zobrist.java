@@ -0,0 +1,96 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.King;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+
+import java.util.Random;
+
+// Random keys used to hash a position into a single long. The seed is fixed so
+// keys are stable between runs.
+public final class Zobrist
+{
+    private static final long[][] PIECE_KEYS = initPieceKeys();
+    private static final long[] EN_PASSANT_KEYS = initKeys(BoardUtils.NUM_TILES_PER_ROW, 1);
+    private static final long[] CASTLE_KEYS = initKeys(4, 2);
+    private static final long BLACK_TO_MOVE_KEY = new Random(3).nextLong();
+
+    private Zobrist()
+    {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    private static long[][] initPieceKeys()
+    {
+        final Random random = new Random(0);
+        final long[][] keys = new long[Piece.PieceType.values().length * 2][BoardUtils.NUM_TILES];
+        for (final long[] pieceKeys : keys)
+        {
+            for (int i = 0; i < BoardUtils.NUM_TILES; i++)
+            {
+                pieceKeys[i] = random.nextLong();
+            }
+        }
+        return keys;
+    }
+
+    private static long[] initKeys(final int count, final long seed)
+    {
+        final Random random = new Random(seed);
+        final long[] keys = new long[count];
+        for (int i = 0; i < count; i++)
+        {
+            keys[i] = random.nextLong();
+        }
+        return keys;
+    }
+
+    public static long pieceKey(final Piece piece)
+    {
+        return PIECE_KEYS[piece.getPieceType().ordinal() * 2 + piece.getPieceAlliance().ordinal()][piece.getPiecePosition()];
+    }
+
+    static long hash(final Iterable<Tile> gameBoard,
+                     final Pawn enPassantPawn,
+                     final Alliance moveMaker)
+    {
+        long hash = 0;
+        for (final Tile tile : gameBoard)
+        {
+            if (tile.isTileOccupied())
+            {
+                final Piece piece = tile.getPiece();
+                hash ^= pieceKey(piece);
+                if (piece.getPieceType().isKing())
+                {
+                    hash ^= castleKey((King) piece);
+                }
+            }
+        }
+        if (enPassantPawn != null)
+        {
+            hash ^= EN_PASSANT_KEYS[enPassantPawn.getPiecePosition() % BoardUtils.NUM_TILES_PER_ROW];
+        }
+        if (moveMaker.isBlack())
+        {
+            hash ^= BLACK_TO_MOVE_KEY;
+        }
+        return hash;
+    }
+
+    private static long castleKey(final King king)
+    {
+        final int offset = king.getPieceAlliance().ordinal() * 2;
+        long key = 0;
+        if (king.isKingSideCastleCapable())
+        {
+            key ^= CASTLE_KEYS[offset];
+        }
+        if (king.isQueenSideCastleCapable())
+        {
+            key ^= CASTLE_KEYS[offset + 1];
+        }
+        return key;
+    }
+}
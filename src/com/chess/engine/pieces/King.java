@@ -97,7 +97,7 @@ public class King extends Piece
     @Override
     public King movePiece(Move move) {
         return new King(move.getPieceToBeMoved().getPieceAlliance(), move.getDestinationCoordinate(),
-                false, move.isCastlingMove(),
+                false, this.isCastled || move.isCastlingMove(),
                 false, false);
     }
     @Override
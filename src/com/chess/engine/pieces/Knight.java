@@ -1,22 +1,14 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
 import com.chess.engine.board.Board;
-import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
 
-import com.chess.engine.board.Tile;
-import com.google.common.collect.ImmutableList;
-import static com.chess.engine.board.Move.*;
-
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 public class Knight extends Piece
 {
-    private final static int[] CANDIDATE_MOVE_COORDINATES = {-17, -15, -10, -6,  6, 10, 15, 17};
-
     public Knight(final Alliance pieceAlliance, final int piecePosition)
     {
         super(PieceType.KNIGHT,piecePosition, pieceAlliance, true);
@@ -30,41 +22,9 @@ public class Knight extends Piece
     }
 
     @Override
-    public Collection<Move> calculateLegalMoves(final Board board) {
-
-        final List<Move> legalMoves = new ArrayList<>();
-
-        for(final int currentCandidateOffset: CANDIDATE_MOVE_COORDINATES)
-        {
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffset;
-            if( BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate))
-            {
-                if(isFirstColumnExclusion(this.piecePosition,currentCandidateOffset)
-                || isSecondColumnExclusion(this.piecePosition,currentCandidateOffset)
-                || isSeventhColumnExclusion(this.piecePosition,currentCandidateOffset)
-                || isEightColumnExclusion(this.piecePosition,currentCandidateOffset))
-                {
-                    continue;
-                }
-                final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-                if (!candidateDestinationTile.isTileOccupied())
-                {
-                    legalMoves.add(new MajorMove(board,this, candidateDestinationCoordinate));
-                }
-                else
-                {
-                    final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                    final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
-
-                    if(this.pieceAlliance != pieceAlliance)
-                    {
-                        legalMoves.add(new MajorAttackMove(board,this,candidateDestinationCoordinate,pieceAtDestination));
-                    }
-                }
-
-            }
-        }
-        return ImmutableList.copyOf(legalMoves);
+    public Collection<Move> calculateLegalMoves(final Board board)
+    {
+        return createMoves(board, AttackTables.knightAttacks(this.piecePosition));
     }
 
 
@@ -79,21 +39,4 @@ public class Knight extends Piece
         return PieceType.KNIGHT.toString();
     }
 
-    private static boolean isFirstColumnExclusion(final int currentPosition, final int candidateOffset)
-    {
-        return BoardUtils.FIRST_COLUMN[currentPosition] && (candidateOffset == -17 || candidateOffset == -10 || candidateOffset == 6 || candidateOffset == 15 );
-    }
-    private static boolean isSecondColumnExclusion(final int currentPosition, final int candidateOffset)
-    {
-        return BoardUtils.SECOND_COLUMN[currentPosition] && (candidateOffset == 6 || candidateOffset == -10 );
-    }
-    private static boolean isSeventhColumnExclusion(final int currentPosition, final int candidateOffset)
-    {
-        return BoardUtils.SEVENTH_COLUMN[currentPosition] && ( candidateOffset == -10 || candidateOffset == -6  );
-    }
-    private static boolean isEightColumnExclusion(final int currentPosition, final int candidateOffset)
-    {
-        return BoardUtils.EIGHT_COLUMN[currentPosition] && (candidateOffset == -15 || candidateOffset == 10 || candidateOffset == -6 || candidateOffset == 17 );
-    }
-
 }
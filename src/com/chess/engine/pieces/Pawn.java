@@ -71,9 +71,11 @@ public final class Pawn extends Piece
             boolean isFirstColumn = BoardUtils.FIRST_COLUMN[this.piecePosition];
             boolean isEighthColumn = BoardUtils.EIGHT_COLUMN[this.piecePosition];
             boolean isPromotionMove = this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate);
+            // The pawn that just jumped two rows stands right behind the capture destination
             boolean canEnPassant = board.getEnPassantPawn() != null &&
                     this.pieceAlliance != board.getEnPassantPawn().getPieceAlliance() &&
-                    (board.getEnPassantPawn().getPiecePosition() == (this.piecePosition + (this.pieceAlliance.getOppositeDirection())));
+                    board.getEnPassantPawn().getPiecePosition() ==
+                            candidateDestinationCoordinate + this.pieceAlliance.getOppositeDirection() * 8;
 
             boolean isOneRowJump = Move.isStraightOneRow(currentCandidateOffset) && !destinationOccupied;
 
@@ -100,7 +102,7 @@ public final class Pawn extends Piece
                 }
                 else
                 {
-                    legalMoves.add(new Move.PawnJump(board,this,candidateDestinationCoordinate));
+                    legalMoves.add(new Move.PawnMove(board,this,candidateDestinationCoordinate));
                 }
             }
             else if (isTwoRowJump)
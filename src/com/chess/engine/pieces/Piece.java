@@ -3,8 +3,11 @@ package com.chess.engine.pieces;
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 public abstract class Piece
 {
@@ -69,6 +72,28 @@ public abstract class Piece
         return this.pieceType.getPieceValue();
     }
     public abstract Collection<Move> calculateLegalMoves(final Board board);
+
+    // One move to every attacked tile that is empty or holds an opponent piece
+    protected Collection<Move> createMoves(final Board board, final long attacks)
+    {
+        final List<Move> legalMoves = new ArrayList<>();
+        long destinations = attacks & ~board.getOccupancy(this.pieceAlliance);
+        while (destinations != 0)
+        {
+            final int destination = Long.numberOfTrailingZeros(destinations);
+            final Piece pieceAtDestination = board.getTile(destination).getPiece();
+            if (pieceAtDestination == null)
+            {
+                legalMoves.add(new Move.MajorMove(board, this, destination));
+            }
+            else
+            {
+                legalMoves.add(new Move.MajorAttackMove(board, this, destination, pieceAtDestination));
+            }
+            destinations &= destinations - 1;
+        }
+        return ImmutableList.copyOf(legalMoves);
+    }
     public abstract Piece movePiece(Move move);
 
 
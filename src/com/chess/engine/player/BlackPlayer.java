@@ -6,6 +6,7 @@ import com.chess.engine.board.Move;
 import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.pieces.Rook;
+import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
 
 import java.util.ArrayList;
@@ -15,10 +16,9 @@ import java.util.List;
 public class BlackPlayer extends Player
 {
     public BlackPlayer(final Board board,
-                       final Collection<Move> whiteStandardLegalMoves,
-                       final Collection<Move> blackStandardLegalMoves)
+                       final Supplier<Collection<Move>> blackStandardLegalMoves)
     {
-        super(board,blackStandardLegalMoves,whiteStandardLegalMoves);
+        super(board, blackStandardLegalMoves);
     }
 
 
@@ -33,14 +33,18 @@ public class BlackPlayer extends Player
         return Alliance.BLACK;
     }
 
+    @Override
+    protected Alliance getOpponentAlliance(){
+        return Alliance.WHITE;
+    }
+
     @Override
     public Player getOpponent() {
         return this.board.whitePlayer();
     }
 
     @Override
-    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals,
-                                                    final Collection<Move> opponentsLegals)
+    protected Collection<Move> calculateKingCastles()
     {
         final List<Move> kingCastles = new ArrayList<>();
         if(this.playerKing.isFirstMove() && !this.isInCheck())
@@ -62,8 +66,8 @@ public class BlackPlayer extends Player
                 {
                     // If the king's destination is not under attack
                     // and the rook destination is not under attack
-                    if (Player.calculateAttacksOnTile(kingSideCastleKingDest,opponentsLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(kingSideCastleRookDest, opponentsLegals).isEmpty())
+                    if (!isAttacked(kingSideCastleKingDest) &&
+                        !isAttacked(kingSideCastleRookDest))
                     {
                         kingCastles.add(
                             new Move.KingSideCastleMove(
@@ -98,8 +102,8 @@ public class BlackPlayer extends Player
                 {
                     // If the king's destination is not under attack
                     // and the rook destination is not under attack
-                    if (Player.calculateAttacksOnTile(queenSideCastleKingDest,opponentsLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(queenSideCastleRookDest, opponentsLegals).isEmpty())
+                    if (!isAttacked(queenSideCastleKingDest) &&
+                        !isAttacked(queenSideCastleRookDest))
                     {
                         kingCastles.add(
                             new Move.QueenSideCastleMove(
@@ -0,0 +1,172 @@
+package com.chess.engine.player;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.MagicBitboards;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Keeps only the moves that do not leave the king attacked, without playing any of them. The
+// pieces giving check and the pinned pieces, each with the line it may still move along, are
+// worked out once for the position; after that a move is legal when it lands on the check mask
+// and stays on its pin line. King moves test their destination with the king lifted off the
+// board, and en passant, which empties two squares of one rank at once, re-tests the king with
+// the occupancy after the capture.
+final class LegalMoveGenerator
+{
+    private final int kingSquare;
+    private final Alliance alliance;
+
+    private final long occupancy;
+    private final long opponentPawns;
+    private final long opponentKnights;
+    private final long opponentDiagonalSliders;
+    private final long opponentStraightSliders;
+    private final long opponentKing;
+
+    private final long checkers;
+    private final long checkMask;
+    private final long pinned;
+    private final long[] pinLines;
+
+    LegalMoveGenerator(final Board board, final Piece king)
+    {
+        this.kingSquare = king.getPiecePosition();
+        this.alliance = king.getPieceAlliance();
+        this.occupancy = board.getOccupancy();
+
+        long pawns = 0;
+        long knights = 0;
+        long diagonalSliders = 0;
+        long straightSliders = 0;
+        long opponentKing = 0;
+        final Alliance opponent = this.alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        for (final Piece piece : opponent.isWhite() ? board.getWhitePieces() : board.getBlackPieces())
+        {
+            final long square = 1L << piece.getPiecePosition();
+            switch (piece.getPieceType())
+            {
+                case PAWN:
+                    pawns |= square;
+                    break;
+                case KNIGHT:
+                    knights |= square;
+                    break;
+                case BISHOP:
+                    diagonalSliders |= square;
+                    break;
+                case ROOK:
+                    straightSliders |= square;
+                    break;
+                case QUEEN:
+                    diagonalSliders |= square;
+                    straightSliders |= square;
+                    break;
+                case KING:
+                    opponentKing |= square;
+                    break;
+            }
+        }
+        this.opponentPawns = pawns;
+        this.opponentKnights = knights;
+        this.opponentDiagonalSliders = diagonalSliders;
+        this.opponentStraightSliders = straightSliders;
+        this.opponentKing = opponentKing;
+
+        this.checkers = attackers(this.kingSquare, this.occupancy, ~0L);
+        if (this.checkers == 0)
+        {
+            this.checkMask = ~0L;
+        }
+        else if (Long.bitCount(this.checkers) == 1)
+        {
+            final int checker = Long.numberOfTrailingZeros(this.checkers);
+            this.checkMask = AttackTables.between(this.kingSquare, checker) | this.checkers;
+        }
+        else
+        {
+            // Only the king can answer a double check
+            this.checkMask = 0;
+        }
+
+        // A slider that would attack the king on an empty board pins the piece between them
+        // when that piece is the only one in the way and belongs to the king's side
+        long snipers = (MagicBitboards.bishopAttacks(this.kingSquare, 0) & this.opponentDiagonalSliders) |
+                       (MagicBitboards.rookAttacks(this.kingSquare, 0) & this.opponentStraightSliders);
+        long pinnedPieces = 0;
+        final long[] pinLines = new long[Long.SIZE];
+        while (snipers != 0)
+        {
+            final int sniper = Long.numberOfTrailingZeros(snipers);
+            final long line = AttackTables.between(this.kingSquare, sniper);
+            final long blockers = line & this.occupancy;
+            if (Long.bitCount(blockers) == 1 && (blockers & board.getOccupancy(this.alliance)) != 0)
+            {
+                pinnedPieces |= blockers;
+                pinLines[Long.numberOfTrailingZeros(blockers)] = line | (1L << sniper);
+            }
+            snipers &= snipers - 1;
+        }
+        this.pinned = pinnedPieces;
+        this.pinLines = pinLines;
+    }
+
+    boolean isInCheck()
+    {
+        return this.checkers != 0;
+    }
+
+    Collection<Move> legalMoves(final Collection<Move> moves)
+    {
+        final List<Move> legalMoves = new ArrayList<>(moves.size());
+        for (final Move move : moves)
+        {
+            if (isLegal(move))
+            {
+                legalMoves.add(move);
+            }
+        }
+        return ImmutableList.copyOf(legalMoves);
+    }
+
+    boolean isLegal(final Move move)
+    {
+        final int from = move.getCurrentCoordinate();
+        final int to = move.getDestinationCoordinate();
+        if (move.getPieceToBeMoved().getPieceType().isKing())
+        {
+            // A captured piece no longer attacks, and a slider checking the king still covers
+            // the squares behind it
+            return attackers(to, this.occupancy & ~(1L << from), ~(1L << to)) == 0;
+        }
+        final Piece attackedPiece = move.getAttackedPiece();
+        if (attackedPiece != null && attackedPiece.getPiecePosition() != to)
+        {
+            // En passant: the moved and the captured pawn may both have shielded the king
+            final long captured = 1L << attackedPiece.getPiecePosition();
+            final long occupancyAfter = (this.occupancy & ~(1L << from) & ~captured) | (1L << to);
+            return attackers(this.kingSquare, occupancyAfter, ~captured) == 0;
+        }
+        if ((this.checkMask & (1L << to)) == 0)
+        {
+            return false;
+        }
+        return (this.pinned & (1L << from)) == 0 || (this.pinLines[from] & (1L << to)) != 0;
+    }
+
+    // Opponent pieces among the candidates that attack the square with the given occupancy
+    private long attackers(final int square, final long occupancy, final long candidates)
+    {
+        return ((AttackTables.pawnAttacks(this.alliance, square) & this.opponentPawns) |
+                (AttackTables.knightAttacks(square) & this.opponentKnights) |
+                (AttackTables.kingAttacks(square) & this.opponentKing) |
+                (MagicBitboards.bishopAttacks(square, occupancy) & this.opponentDiagonalSliders) |
+                (MagicBitboards.rookAttacks(square, occupancy) & this.opponentStraightSliders)) & candidates;
+    }
+}
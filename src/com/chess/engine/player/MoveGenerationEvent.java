@@ -0,0 +1,30 @@
+package com.chess.engine.player;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Flight Recorder event for generating the legal moves of one side of a board. There is one
+// per position the search looks at, so it is off unless a recording enables it, and then
+// usually with a threshold that keeps only the slow ones.
+@Name("com.chess.MoveGeneration")
+@Label("Move Generation")
+@Category({"Chess Engine", "Move Generation"})
+@Description("Generation of the legal moves of the side to move")
+@Enabled(false)
+@StackTrace(false)
+final class MoveGenerationEvent extends Event
+{
+    @Label("Side")
+    String side;
+
+    @Label("Legal Moves")
+    int moveCount;
+
+    @Label("In Check")
+    boolean inCheck;
+}
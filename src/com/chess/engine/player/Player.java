@@ -5,28 +5,33 @@ import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Piece;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
+import java.util.Map;
 
 public abstract class Player {
     protected final Board board;
     protected final King playerKing;
-    protected final Collection<Move> legalMoves;
-    private final boolean isInCheck;
+    // Worked out on first use and then shared by every thread looking at this board
+    private final Supplier<LegalMoveGenerator> legalMoveGenerator;
+    private final Supplier<Collection<Move>> legalMoves;
+    private final Supplier<Map<Integer, Move>> legalMoveIndex;
+    private final Supplier<Boolean> hasEscapeMoves;
 
     Player(final Board board,
-           final Collection<Move> legalMoves,
-           final Collection<Move> opponentMoves)
+           final Supplier<Collection<Move>> standardLegalMoves)
     {
         this.board = board;
         this.playerKing = establishKing();
-        this.legalMoves = ImmutableList.copyOf(Iterables.concat(legalMoves, calculateKingCastles(legalMoves,opponentMoves)));
-        this.isInCheck = !Player.calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentMoves).isEmpty();
-
+        this.legalMoveGenerator = Suppliers.memoize(() -> new LegalMoveGenerator(board, this.playerKing));
+        this.legalMoves = Suppliers.memoize(() -> calculateLegalMoves(standardLegalMoves));
+        this.legalMoveIndex = Suppliers.memoize(() -> indexMoves(getLegalMoves()));
+        this.hasEscapeMoves = Suppliers.memoize(this::calculateHasEscapeMoves);
     }
 
     public King getPlayerKing()
@@ -35,7 +40,7 @@ public abstract class Player {
     }
     public Collection<Move> getLegalMoves()
     {
-        return this.legalMoves;
+        return this.legalMoves.get();
     }
     private King establishKing()
     {
@@ -49,31 +54,62 @@ public abstract class Player {
         throw new RuntimeException("Should not reach here! Not a valid board !!" );
     }
 
-    protected static Collection<Move> calculateAttacksOnTile(int piecePosition, Collection<Move> moves)
+    // Whether any opponent piece attacks the tile
+    protected boolean isAttacked(final int tileCoordinate)
+    {
+        return this.board.isSquareAttacked(tileCoordinate, getOpponentAlliance());
+    }
+    public boolean isMoveLegal(final Move move)
     {
-        final List<Move> attackMoves = new ArrayList<>();
-        for (final Move move: moves)
+        final Move legalMove = this.legalMoveIndex.get().get(move.getPackedKey());
+        return legalMove != null && legalMove.equals(move);
+    }
+
+    // The legal move between the two tiles, or null; promotionType is null for non-promotions
+    public Move getLegalMove(final int currentCoordinate,
+                             final int destinationCoordinate,
+                             final Piece.PieceType promotionType)
+    {
+        return this.legalMoveIndex.get().get(Move.packKey(currentCoordinate, destinationCoordinate, promotionType));
+    }
+
+    private Collection<Move> calculateLegalMoves(final Supplier<Collection<Move>> standardLegalMoves)
+    {
+        final MoveGenerationEvent event = new MoveGenerationEvent();
+        event.begin();
+        final Collection<Move> moves = ImmutableList.copyOf(Iterables.concat(
+                this.legalMoveGenerator.get().legalMoves(standardLegalMoves.get()),
+                calculateKingCastles()));
+        event.end();
+        if (event.shouldCommit())
         {
-             if (piecePosition == move.getDestinationCoordinate())
-             {
-                 attackMoves.add(move);
-             }
+            event.side = getAlliance().toString();
+            event.moveCount = moves.size();
+            event.inCheck = isInCheck();
+            event.commit();
         }
-        return ImmutableList.copyOf(attackMoves);
+        return moves;
     }
-    public boolean isMoveLegal(final Move move)
+
+    private static Map<Integer, Move> indexMoves(final Collection<Move> moves)
     {
-        return this.legalMoves.contains(move);
+        final ImmutableMap.Builder<Integer, Move> index = ImmutableMap.builder();
+        for (final Move move : moves)
+        {
+            index.put(move.getPackedKey(), move);
+        }
+        return index.build();
     }
 
+    // Needs only the attacks on the king, not the move list
     public boolean isInCheck()
     {
-        return this.isInCheck;
+        return this.legalMoveGenerator.get().isInCheck();
     }
 
     public boolean isInCheckMate()
     {
-        return this.isInCheck && !hasEscapeMoves();
+        return isInCheck() && !hasEscapeMoves();
     }
 
     public boolean isKingSideCastleCapable()
@@ -85,14 +121,24 @@ public abstract class Player {
     {
         return this.playerKing.isQueenSideCastleCapable();
     }
-    protected boolean hasEscapeMoves()
+    public boolean hasEscapeMoves()
+    {
+        return this.hasEscapeMoves.get();
+    }
+
+    // Stops at the first legal move rather than generating the whole list. Castles can be left
+    // out: a legal castle means the king could also legally step to the rook's destination.
+    private boolean calculateHasEscapeMoves()
     {
-        for (final Move move: this.legalMoves)
+        final LegalMoveGenerator generator = this.legalMoveGenerator.get();
+        for (final Piece piece : getActivePieces())
         {
-            final MoveTransition transition = makeMove(move);
-            if (transition.getMoveStatus().isDone())
+            for (final Move move : piece.calculateLegalMoves(this.board))
             {
-                return true;
+                if (generator.isLegal(move))
+                {
+                    return true;
+                }
             }
         }
         return false;
@@ -100,12 +146,12 @@ public abstract class Player {
 
     public boolean isInStaleMate()
     {
-        return this.isInCheck && !hasEscapeMoves();
+        return !isInCheck() && !hasEscapeMoves();
     }
 
     public boolean isCastled()
     {
-        return false;
+        return this.playerKing.isCastled();
     }
 
     public MoveTransition makeMove(final Move move)
@@ -114,19 +160,13 @@ public abstract class Player {
         {
             return new MoveTransition(this.board, move, MoveStatus.ILLEGAL_MOVE);
         }
-        final Board transitionBoard = move.execute();
-
-        final Collection<Move> kingAttacks = Player.calculateAttacksOnTile(transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),transitionBoard.currentPlayer().getLegalMoves());
-
-        if(!kingAttacks.isEmpty())
-        {
-            return new MoveTransition(this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
-        }
-        return new MoveTransition(transitionBoard,move,MoveStatus.DONE);
+        // Only moves that keep the king safe are in the legal move list
+        return new MoveTransition(move.execute(), move, MoveStatus.DONE);
     }
     public abstract Collection<Piece> getActivePieces();
     public abstract Alliance getAlliance();
     public abstract Player getOpponent();
-    protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentsLegals);
+    protected abstract Alliance getOpponentAlliance();
+    protected abstract Collection<Move> calculateKingCastles();
 
 }
@@ -6,6 +6,7 @@ import com.chess.engine.board.Move;
 import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.pieces.Rook;
+import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
 
 import java.util.ArrayList;
@@ -15,11 +16,9 @@ import java.util.List;
 public class WhitePlayer extends Player {
 
     public WhitePlayer(final Board board,
-                       final Collection<Move> whiteStandardLegalMoves,
-                       final Collection<Move> blackStandardLegalMoves)
-
+                       final Supplier<Collection<Move>> whiteStandardLegalMoves)
     {
-        super(board, whiteStandardLegalMoves, blackStandardLegalMoves);
+        super(board, whiteStandardLegalMoves);
     }
 
     @Override
@@ -32,13 +31,18 @@ public class WhitePlayer extends Player {
         return Alliance.WHITE;
     }
 
+    @Override
+    protected Alliance getOpponentAlliance(){
+        return Alliance.BLACK;
+    }
+
     @Override
     public Player getOpponent() {
         return this.board.blackPlayer();
     }
 
     @Override
-    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals, final Collection<Move> opponentsLegals)
+    protected Collection<Move> calculateKingCastles()
     {
         final List<Move> kingCastles = new ArrayList<>();
         if(this.playerKing.isFirstMove() && !this.isInCheck())
@@ -60,8 +64,8 @@ public class WhitePlayer extends Player {
                 {
                     // If the king's destination is not under attack
                     // and the rook destination is not under attack
-                    if (Player.calculateAttacksOnTile(kingSideCastleKingDest,opponentsLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(kingSideCastleRookDest, opponentsLegals).isEmpty())
+                    if (!isAttacked(kingSideCastleKingDest) &&
+                        !isAttacked(kingSideCastleRookDest))
                     {
                         kingCastles.add(
                             new Move.KingSideCastleMove(
@@ -96,8 +100,8 @@ public class WhitePlayer extends Player {
                 {
                     // If the king's destination is not under attack
                     // and the rook destination is not under attack
-                    if (Player.calculateAttacksOnTile(queenSideCastleKingDest,opponentsLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(queenSideCastleRookDest, opponentsLegals).isEmpty())
+                    if (!isAttacked(queenSideCastleKingDest) &&
+                        !isAttacked(queenSideCastleRookDest))
                     {
                         kingCastles.add(
                             new Move.QueenSideCastleMove(
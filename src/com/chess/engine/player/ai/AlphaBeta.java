@@ -0,0 +1,861 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.Player;
+import com.chess.pgn.FenUtilities;
+import com.chess.pgn.PgnUtilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Iteratively deepened principal variation search. Every iteration after the first few starts
+// with an aspiration window around the previous score, moves are tried in MovePicker order and
+// the transposition table, killer moves and history scores carry over between iterations.
+//
+// With more than one thread, helper searchers run the same iterations staggered by a ply and
+// share what they find with the main searcher through the transposition table. In multi-PV
+// mode the main searcher finds each further line by searching the root again with the moves
+// of the earlier lines excluded.
+public class AlphaBeta implements MoveStrategy {
+
+    static final int INFINITY = 200_000_000;
+    static final int MATE = 100_000_000;
+    static final int DRAW = 0;
+    private static final int DEFAULT_HASH_SIZE_MB = 16;
+
+    private static final int ASPIRATION_MIN_DEPTH = 3;
+    private static final int ASPIRATION_WINDOW = 50;
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int LMR_MIN_DEPTH = 3;
+    private static final int LMR_MIN_MOVE_INDEX = 3;
+    private static final int LMR_GOOD_HISTORY = 1 << 8;
+    private static final int[] FUTILITY_MARGINS = {0, 200, 500};
+    private static final int[] RAZOR_MARGINS = {0, 300, 550};
+    private static final int TIME_CHECK_INTERVAL = 1023;
+    private static final long PROGRESS_INTERVAL_MILLIS = 1000;
+
+    private static final SearchStoppedException SEARCH_STOPPED = new SearchStoppedException();
+
+    private final BoardEvaluator boardEvaluator;
+    private final SearchParameters parameters;
+    private final int searchDepth;
+    private final TranspositionTable transpositionTable;
+    private final List<Searcher> searchers;
+    private final List<SearchListener> listeners;
+    private final AtomicInteger activeThreads;
+    private final AtomicInteger queuedSearches;
+    private volatile SearchLimits currentLimits;
+
+    public AlphaBeta(final int searchDepth)
+    {
+        this(searchDepth, new StandardBoardEvaluator(), SearchParameters.DEFAULT);
+    }
+
+    public AlphaBeta(final int searchDepth, final SearchParameters parameters)
+    {
+        this(searchDepth, new StandardBoardEvaluator(), parameters);
+    }
+
+    public AlphaBeta(final int searchDepth,
+                     final BoardEvaluator boardEvaluator,
+                     final SearchParameters parameters)
+    {
+        this(searchDepth, boardEvaluator, parameters, new TranspositionTable(DEFAULT_HASH_SIZE_MB));
+    }
+
+    public AlphaBeta(final int searchDepth,
+                     final BoardEvaluator boardEvaluator,
+                     final SearchParameters parameters,
+                     final TranspositionTable transpositionTable)
+    {
+        this.boardEvaluator = boardEvaluator;
+        this.parameters = parameters;
+        this.searchDepth = searchDepth;
+        this.transpositionTable = transpositionTable;
+        this.searchers = new ArrayList<>();
+        for (int i = 0; i < parameters.getThreads(); i++)
+        {
+            this.searchers.add(new Searcher());
+        }
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.activeThreads = new AtomicInteger();
+        this.queuedSearches = new AtomicInteger();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "AlphaBeta";
+    }
+
+    public void addSearchListener(final SearchListener listener)
+    {
+        this.listeners.add(listener);
+    }
+
+    public void removeSearchListener(final SearchListener listener)
+    {
+        this.listeners.remove(listener);
+    }
+
+    public TranspositionTable getTranspositionTable()
+    {
+        return this.transpositionTable;
+    }
+
+    public SearchParameters getParameters()
+    {
+        return this.parameters;
+    }
+
+    // The work of the running search so far, or of the last search once it has finished
+    public SearchStatistics getStatistics()
+    {
+        return this.searchers.get(0).statistics(System.currentTimeMillis());
+    }
+
+    // Threads searching right now, the main thread included
+    public int getActiveThreads()
+    {
+        return this.activeThreads.get();
+    }
+
+    // Searches waiting for the running one to finish
+    public int getQueuedSearches()
+    {
+        return this.queuedSearches.get();
+    }
+
+    // Ends a running search, which then returns the result of its last completed iteration.
+    // The first iteration always completes, so a stopped search still has a move to return
+    public void stop()
+    {
+        final SearchLimits limits = this.currentLimits;
+        if (limits != null)
+        {
+            limits.stop();
+        }
+    }
+
+    // Forgets everything learned from the previous game
+    public void clear()
+    {
+        this.transpositionTable.clear();
+        for (final Searcher searcher : this.searchers)
+        {
+            searcher.moveOrdering.clearKillers();
+            searcher.moveOrdering.clearHistory();
+        }
+    }
+
+    @Override
+    public Move execute(final Board board)
+    {
+        return search(board).getBestMove();
+    }
+
+    public SearchResult search(final Board board)
+    {
+        return search(board, new SearchLimits(this.searchDepth));
+    }
+
+    public SearchResult search(final Board board, final int depth)
+    {
+        return search(board, new SearchLimits(depth));
+    }
+
+    // Searches run one at a time, a later one waiting for the running one to stop
+    public SearchResult search(final Board board, final SearchLimits limits)
+    {
+        this.queuedSearches.incrementAndGet();
+        synchronized (this)
+        {
+            this.queuedSearches.decrementAndGet();
+            return runSearch(board, limits);
+        }
+    }
+
+    private SearchResult runSearch(final Board board, final SearchLimits limits)
+    {
+        final SearchEvent event = new SearchEvent();
+        event.begin();
+        final long startTime = System.currentTimeMillis();
+        this.currentLimits = limits;
+
+        final List<Thread> helpers = new ArrayList<>();
+        for (int i = 1; i < this.searchers.size(); i++)
+        {
+            final Searcher helper = this.searchers.get(i);
+            final int startDepth = 1 + (i % 2);
+            final Thread thread = new Thread(() -> helper.iterate(board, limits, startDepth, false, startTime),
+                    "AlphaBeta helper " + i);
+            thread.setDaemon(true);
+            helpers.add(thread);
+            thread.start();
+        }
+
+        final SearchResult mainResult = this.searchers.get(0).iterate(board, limits, 1, true, startTime);
+
+        // A pondering search keeps its result until the opponent moves, an infinite one until stopped
+        limits.awaitRelease();
+        limits.stop();
+        for (final Thread helper : helpers)
+        {
+            try
+            {
+                helper.join();
+            }
+            catch (final InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        this.currentLimits = null;
+        final long endTime = System.currentTimeMillis();
+        this.searchers.get(0).endTime = endTime;
+        final SearchResult result = mainResult.withStatistics(this.searchers.get(0).statistics(endTime));
+        event.end();
+        if (event.shouldCommit())
+        {
+            event.position = FenUtilities.createFENFromGame(board);
+            event.depth = result.getDepth();
+            event.score = result.getScore();
+            event.nodes = result.getNodes();
+            event.threads = this.searchers.size();
+            event.bestMove = result.getBestMove() != null ? PgnUtilities.toSan(board, result.getBestMove()) : null;
+            event.commit();
+        }
+        return result;
+    }
+
+    private SearchCounters totalCounters()
+    {
+        final SearchCounters total = new SearchCounters();
+        for (final Searcher searcher : this.searchers)
+        {
+            searcher.counters.addTo(total);
+        }
+        return total;
+    }
+
+    private void notifyListeners(final SearchResult result)
+    {
+        for (final SearchListener listener : this.listeners)
+        {
+            listener.onIterationComplete(result);
+        }
+    }
+
+    private void notifyProgress(final SearchStatistics statistics)
+    {
+        for (final SearchListener listener : this.listeners)
+        {
+            listener.onProgress(statistics);
+        }
+    }
+
+    private static boolean hasNonPawnMaterial(final Player player)
+    {
+        for (final Piece piece : player.getActivePieces())
+        {
+            if (piece.getPieceType() != Piece.PieceType.PAWN && !piece.getPieceType().isKing())
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Hands the move to the opponent without changing the position or keeping en passant
+    private static Board makeNullMove(final Board board)
+    {
+        final Board.Builder builder = new Board.Builder();
+        for (final Piece piece : board.getWhitePieces())
+        {
+            builder.setPiece(piece);
+        }
+        for (final Piece piece : board.getBlackPieces())
+        {
+            builder.setPiece(piece);
+        }
+        builder.setMoveMaker(board.currentPlayer().getOpponent().getAlliance());
+        return builder.build();
+    }
+
+    private static boolean isMateScore(final int score)
+    {
+        return Math.abs(score) > MATE - MoveOrdering.MAX_PLY;
+    }
+
+    // Mate scores are stored relative to the node rather than the root, so a table hit at
+    // another ply still reports the right distance to mate
+    private static int scoreToTable(final int score, final int ply)
+    {
+        if (score > MATE - MoveOrdering.MAX_PLY)
+        {
+            return score + ply;
+        }
+        if (score < -MATE + MoveOrdering.MAX_PLY)
+        {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int scoreFromTable(final int score, final int ply)
+    {
+        if (score > MATE - MoveOrdering.MAX_PLY)
+        {
+            return score - ply;
+        }
+        if (score < -MATE + MoveOrdering.MAX_PLY)
+        {
+            return score + ply;
+        }
+        return score;
+    }
+
+    // Unwinds a search that was asked to stop; shared and stackless since it is thrown from deep in the tree
+    private static final class SearchStoppedException extends RuntimeException
+    {
+        SearchStoppedException()
+        {
+            super(null, null, false, false);
+        }
+    }
+
+    // The part of the search owned by a single thread: killers, history, PV table and counters.
+    // The main searcher also keeps the nodes and time of every completed iteration
+    private final class Searcher
+    {
+        private final MoveOrdering moveOrdering;
+        private final Move[][] pvTable;
+        private final int[] pvLength;
+        private final SearchCounters counters;
+        private final List<Long> iterationNodes;
+        private final List<Long> iterationTimeMillis;
+        private int rootScore;
+        private SearchLimits limits;
+        private boolean hasResult;
+        private boolean isMain;
+        private long startTime;
+        private volatile long endTime;
+        private long lastProgressTime;
+
+        Searcher()
+        {
+            this.moveOrdering = new MoveOrdering();
+            this.pvTable = new Move[MoveOrdering.MAX_PLY][MoveOrdering.MAX_PLY];
+            this.pvLength = new int[MoveOrdering.MAX_PLY];
+            this.counters = new SearchCounters();
+            this.iterationNodes = new CopyOnWriteArrayList<>();
+            this.iterationTimeMillis = new CopyOnWriteArrayList<>();
+        }
+
+        // Totals over all searchers up to the given time, or up to the end of a finished search
+        SearchStatistics statistics(final long now)
+        {
+            final long end = this.endTime != 0 ? this.endTime : now;
+            return new SearchStatistics(totalCounters(), this.iterationNodes, this.iterationTimeMillis,
+                    this.startTime != 0 ? end - this.startTime : 0);
+        }
+
+        SearchResult iterate(final Board board,
+                             final SearchLimits limits,
+                             final int startDepth,
+                             final boolean isMain,
+                             final long startTime)
+        {
+            activeThreads.incrementAndGet();
+            try
+            {
+                return deepen(board, limits, startDepth, isMain, startTime);
+            }
+            finally
+            {
+                activeThreads.decrementAndGet();
+            }
+        }
+
+        private SearchResult deepen(final Board board,
+                                    final SearchLimits limits,
+                                    final int startDepth,
+                                    final boolean isMain,
+                                    final long startTime)
+        {
+            this.limits = limits;
+            this.hasResult = false;
+            this.isMain = isMain;
+            this.counters.clear();
+            if (isMain)
+            {
+                this.iterationNodes.clear();
+                this.iterationTimeMillis.clear();
+                this.endTime = 0;
+                this.startTime = startTime;
+                this.lastProgressTime = startTime;
+            }
+            this.moveOrdering.clearKillers();
+            this.moveOrdering.ageHistory();
+
+            final int lineCount = isMain ? Math.min(parameters.getMultiPv(), board.currentPlayer().getLegalMoves().size()) : 1;
+            SearchResult result = SearchResult.EMPTY;
+            for (int depth = startDepth; depth <= limits.getDepth() && !(this.hasResult && limits.isStopped()); depth++)
+            {
+                if (this.hasResult && isMain && limits.isIterationTimeUp())
+                {
+                    break;
+                }
+                final SearchIterationEvent event = new SearchIterationEvent();
+                event.begin();
+                final List<PrincipalVariation> lines = new ArrayList<>();
+                final List<Integer> excludedMoves = new ArrayList<>();
+                try
+                {
+                    for (int i = 0; i < lineCount; i++)
+                    {
+                        final int previousScore = i < result.getLines().size() ? result.getLines().get(i).getScore() : 0;
+                        final PrincipalVariation line = aspirationSearch(board, depth, previousScore, excludedMoves);
+                        if (line == null)
+                        {
+                            break;
+                        }
+                        lines.add(line);
+                        excludedMoves.add(line.getFirstMove().getPackedKey());
+                    }
+                }
+                catch (final SearchStoppedException e)
+                {
+                    break;
+                }
+                if (lines.isEmpty())
+                {
+                    break;
+                }
+                // A later line can outscore an earlier one since the table and history changed in between
+                Collections.sort(lines, new Comparator<PrincipalVariation>() {
+                    @Override
+                    public int compare(final PrincipalVariation first, final PrincipalVariation second) {
+                        return Integer.compare(second.getScore(), first.getScore());
+                    }
+                });
+                this.hasResult = true;
+                if (isMain)
+                {
+                    recordIteration();
+                    result = new SearchResult(lines, depth, statistics(System.currentTimeMillis()));
+                    event.end();
+                    if (event.shouldCommit())
+                    {
+                        event.depth = depth;
+                        event.score = result.getScore();
+                        event.nodes = this.iterationNodes.get(this.iterationNodes.size() - 1);
+                        event.commit();
+                    }
+                    notifyListeners(result);
+                }
+                else
+                {
+                    result = new SearchResult(lines, depth, SearchStatistics.EMPTY);
+                }
+            }
+            return result;
+        }
+
+        // Searches a narrow window around the previous iteration's score and widens whichever
+        // side failed until the score falls inside the window
+        private PrincipalVariation aspirationSearch(final Board board,
+                                                    final int depth,
+                                                    final int previousScore,
+                                                    final List<Integer> excludedMoves)
+        {
+            int delta = ASPIRATION_WINDOW;
+            int alpha = -INFINITY;
+            int beta = INFINITY;
+            if (depth >= ASPIRATION_MIN_DEPTH && !isMateScore(previousScore))
+            {
+                alpha = Math.max(previousScore - delta, -INFINITY);
+                beta = Math.min(previousScore + delta, INFINITY);
+            }
+            while (true)
+            {
+                final Move bestMove = searchRoot(board, depth, alpha, beta, excludedMoves);
+                if (bestMove == null)
+                {
+                    return null;
+                }
+                final int score = this.rootScore;
+                if (score <= alpha && alpha > -INFINITY)
+                {
+                    delta *= 2;
+                    alpha = Math.max(score - delta, -INFINITY);
+                }
+                else if (score >= beta && beta < INFINITY)
+                {
+                    delta *= 2;
+                    beta = Math.min(score + delta, INFINITY);
+                }
+                else
+                {
+                    return new PrincipalVariation(score, principalVariation());
+                }
+            }
+        }
+
+        private Move searchRoot(final Board board,
+                                final int depth,
+                                int alpha,
+                                final int beta,
+                                final List<Integer> excludedMoves)
+        {
+            this.pvLength[0] = 0;
+            final int originalAlpha = alpha;
+            int bestScore = -INFINITY;
+            Move bestMove = null;
+            final long entry = transpositionTable.probe(board.getZobristHash());
+            final int hashMove = entry != TranspositionTable.MISS ? TranspositionTable.getMove(entry) : MoveOrdering.NO_MOVE;
+            final MovePicker picker = new MovePicker(board, this.moveOrdering, hashMove, 0, false);
+            Move move;
+            while ((move = picker.next()) != null)
+            {
+                if (excludedMoves.contains(move.getPackedKey()))
+                {
+                    continue;
+                }
+                final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+                if (!moveTransition.getMoveStatus().isDone())
+                {
+                    continue;
+                }
+                final Board transitionBoard = moveTransition.getTransitionBoard();
+                int score;
+                if (bestMove == null)
+                {
+                    score = -alphaBeta(transitionBoard, depth - 1, 1, -beta, -alpha, true);
+                }
+                else
+                {
+                    score = -alphaBeta(transitionBoard, depth - 1, 1, -alpha - 1, -alpha, true);
+                    if (score > alpha && score < beta)
+                    {
+                        score = -alphaBeta(transitionBoard, depth - 1, 1, -beta, -alpha, true);
+                    }
+                }
+                if (score > bestScore)
+                {
+                    bestScore = score;
+                    bestMove = move;
+                    if (score > alpha)
+                    {
+                        alpha = score;
+                        updatePrincipalVariation(0, move);
+                        if (alpha >= beta)
+                        {
+                            break;
+                        }
+                    }
+                }
+            }
+            this.rootScore = bestScore;
+            // A line searched with root moves excluded does not score the root position itself
+            if (bestMove != null && excludedMoves.isEmpty())
+            {
+                final int bound = bestScore >= beta ? TranspositionTable.LOWER_BOUND :
+                                  bestScore > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+                transpositionTable.store(board.getZobristHash(), bestMove.getPackedKey(),
+                        scoreToTable(bestScore, 0), depth, bound);
+            }
+            return bestMove;
+        }
+
+        private void recordIteration()
+        {
+            final long now = System.currentTimeMillis();
+            long previousNodes = 0;
+            long previousTime = 0;
+            for (int i = 0; i < this.iterationNodes.size(); i++)
+            {
+                previousNodes += this.iterationNodes.get(i);
+                previousTime += this.iterationTimeMillis.get(i);
+            }
+            this.iterationNodes.add(totalCounters().nodes - previousNodes);
+            this.iterationTimeMillis.add(now - this.startTime - previousTime);
+        }
+
+        // Unwinds the search once it was stopped, but never before an iteration has completed so
+        // there is always a move to return; the clock is only read every few nodes, which is
+        // also when the main searcher reports its progress
+        private void checkStop()
+        {
+            if ((this.counters.nodes & TIME_CHECK_INTERVAL) == 0)
+            {
+                final long now = System.currentTimeMillis();
+                if (this.isMain && now - this.lastProgressTime >= PROGRESS_INTERVAL_MILLIS && !listeners.isEmpty())
+                {
+                    this.lastProgressTime = now;
+                    notifyProgress(statistics(now));
+                }
+                if (this.hasResult && !this.limits.isStopped() && this.limits.isTimeUp())
+                {
+                    this.limits.stop();
+                }
+            }
+            if (this.hasResult && this.limits.isStopped())
+            {
+                throw SEARCH_STOPPED;
+            }
+        }
+
+        // Triangular PV table: row ply holds the best line found from that ply, built by putting
+        // the new best move in front of the line its child reported
+        private void updatePrincipalVariation(final int ply, final Move move)
+        {
+            this.pvTable[ply][ply] = move;
+            final int childLength = this.pvLength[ply + 1];
+            for (int i = ply + 1; i < childLength; i++)
+            {
+                this.pvTable[ply][i] = this.pvTable[ply + 1][i];
+            }
+            this.pvLength[ply] = Math.max(childLength, ply + 1);
+        }
+
+        private List<Move> principalVariation()
+        {
+            final List<Move> principalVariation = new ArrayList<>();
+            for (int i = 0; i < this.pvLength[0]; i++)
+            {
+                principalVariation.add(this.pvTable[0][i]);
+            }
+            return principalVariation;
+        }
+
+        private int alphaBeta(final Board board,
+                              final int depth,
+                              final int ply,
+                              int alpha,
+                              final int beta,
+                              final boolean allowNullMove)
+        {
+            this.pvLength[ply] = ply;
+            // A line that repeats a position can be repeated again, so it is scored as the draw it
+            // leads to; this also stops the search from chasing its tail in shuffling lines
+            if (board.isRepetition() || board.isFiftyMoveRule())
+            {
+                return DRAW;
+            }
+            if (depth <= 0)
+            {
+                return quiescence(board, ply, alpha, beta);
+            }
+            this.counters.nodes++;
+            checkStop();
+
+            final boolean isPvNode = beta - alpha > 1;
+            final long key = board.getZobristHash();
+            final long entry = transpositionTable.probe(key);
+            this.counters.tableProbes++;
+            int hashMove = MoveOrdering.NO_MOVE;
+            if (entry != TranspositionTable.MISS)
+            {
+                this.counters.tableHits++;
+                hashMove = TranspositionTable.getMove(entry);
+                // PV nodes are always searched so the reported line is not cut short by a table hit
+                if (!isPvNode && TranspositionTable.getDepth(entry) >= depth)
+                {
+                    final int score = scoreFromTable(TranspositionTable.getScore(entry), ply);
+                    final int bound = TranspositionTable.getBound(entry);
+                    if (bound == TranspositionTable.EXACT ||
+                        (bound == TranspositionTable.LOWER_BOUND && score >= beta) ||
+                        (bound == TranspositionTable.UPPER_BOUND && score <= alpha))
+                    {
+                        this.counters.tableCutoffs++;
+                        return score;
+                    }
+                }
+            }
+
+            final Player player = board.currentPlayer();
+            final boolean inCheck = player.isInCheck();
+            final boolean needsStaticEval = !inCheck && !isMateScore(beta) &&
+                    (parameters.isNullMovePruning() ||
+                     (depth < FUTILITY_MARGINS.length && (parameters.isFutilityPruning() || parameters.isRazoring())));
+            final int staticEval = needsStaticEval ? evaluate(board) : -INFINITY;
+
+            // Razoring: a frontier node far below alpha is unlikely to recover with a quiet move,
+            // so trust the quiescence search if it confirms the node fails low
+            if (parameters.isRazoring() && needsStaticEval && !isPvNode && hashMove == MoveOrdering.NO_MOVE &&
+                depth < RAZOR_MARGINS.length && staticEval + RAZOR_MARGINS[depth] <= alpha)
+            {
+                final int razorAlpha = alpha - RAZOR_MARGINS[depth];
+                final int score = quiescence(board, ply, razorAlpha, razorAlpha + 1);
+                if (score <= razorAlpha)
+                {
+                    return score;
+                }
+            }
+
+            // Null move pruning: if passing still fails high the position is good enough to cut.
+            // Passing is only sound when zugzwang is unlikely, so positions where the side to move
+            // has nothing but pawns are searched normally
+            if (parameters.isNullMovePruning() && needsStaticEval && allowNullMove && !isPvNode &&
+                depth >= NULL_MOVE_MIN_DEPTH && staticEval >= beta && hasNonPawnMaterial(player))
+            {
+                final int reduction = depth > 6 ? 3 : 2;
+                final int score = -alphaBeta(makeNullMove(board), depth - 1 - reduction, ply + 1, -beta, -beta + 1, false);
+                if (score >= beta)
+                {
+                    return isMateScore(score) ? beta : score;
+                }
+            }
+
+            final boolean futile = parameters.isFutilityPruning() && needsStaticEval &&
+                    depth < FUTILITY_MARGINS.length && staticEval + FUTILITY_MARGINS[depth] <= alpha;
+
+            final int originalAlpha = alpha;
+            int bestScore = -INFINITY;
+            Move bestMove = null;
+            int moveIndex = 0;
+            final MovePicker picker = new MovePicker(board, this.moveOrdering, hashMove, ply, false);
+            Move move;
+            while ((move = picker.next()) != null)
+            {
+                final MoveTransition moveTransition = player.makeMove(move);
+                if (!moveTransition.getMoveStatus().isDone())
+                {
+                    continue;
+                }
+                final Board transitionBoard = moveTransition.getTransitionBoard();
+                final boolean isQuiet = !MovePicker.isCapture(move);
+                final boolean givesCheck = transitionBoard.currentPlayer().isInCheck();
+                moveIndex++;
+
+                // Futility pruning: near the leaves a quiet move cannot lift a hopeless static score over alpha
+                if (futile && isQuiet && !givesCheck && bestMove != null)
+                {
+                    continue;
+                }
+
+                int score;
+                if (bestMove == null)
+                {
+                    score = -alphaBeta(transitionBoard, depth - 1, ply + 1, -beta, -alpha, true);
+                }
+                else
+                {
+                    // Later moves only have to prove they are no better than the best one so far,
+                    // which a null window search does cheaply; a move that beats alpha is searched again
+                    int reduction = 0;
+                    if (parameters.isLateMoveReductions() && depth >= LMR_MIN_DEPTH && moveIndex > LMR_MIN_MOVE_INDEX &&
+                        isQuiet && !inCheck && !givesCheck && !this.moveOrdering.isKiller(ply, move.getPackedKey()))
+                    {
+                        // Late moves are probably bad: search them shallower, more so the later
+                        // they come, less so if they have caused cutoffs before
+                        reduction = moveIndex > 2 * LMR_MIN_MOVE_INDEX && depth >= 5 ? 2 : 1;
+                        if (this.moveOrdering.getHistory(player.getAlliance(), move) > LMR_GOOD_HISTORY)
+                        {
+                            reduction--;
+                        }
+                    }
+                    score = -alphaBeta(transitionBoard, depth - 1 - reduction, ply + 1, -alpha - 1, -alpha, true);
+                    if (score > alpha && reduction > 0)
+                    {
+                        score = -alphaBeta(transitionBoard, depth - 1, ply + 1, -alpha - 1, -alpha, true);
+                    }
+                    if (score > alpha && score < beta)
+                    {
+                        score = -alphaBeta(transitionBoard, depth - 1, ply + 1, -beta, -alpha, true);
+                    }
+                }
+
+                if (score > bestScore)
+                {
+                    bestScore = score;
+                    bestMove = move;
+                    if (score > alpha)
+                    {
+                        alpha = score;
+                        updatePrincipalVariation(ply, move);
+                        if (alpha >= beta)
+                        {
+                            this.counters.betaCutoffs++;
+                            if (moveIndex == 1)
+                            {
+                                this.counters.firstMoveBetaCutoffs++;
+                            }
+                            if (isQuiet)
+                            {
+                                this.moveOrdering.recordCutoff(player.getAlliance(), move, ply, depth);
+                            }
+                            break;
+                        }
+                    }
+                }
+            }
+
+            if (bestMove == null)
+            {
+                return inCheck ? -MATE + ply : DRAW;
+            }
+
+            final int bound = bestScore >= beta ? TranspositionTable.LOWER_BOUND :
+                              bestScore > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+            transpositionTable.store(key, bestMove.getPackedKey(), scoreToTable(bestScore, ply), depth, bound);
+            return bestScore;
+        }
+
+        // Resolves captures until the position is quiet; captures that lose material are skipped
+        private int quiescence(final Board board,
+                               final int ply,
+                               int alpha,
+                               final int beta)
+        {
+            this.pvLength[ply] = ply;
+            this.counters.nodes++;
+            this.counters.quiescenceNodes++;
+            checkStop();
+            final int standPat = evaluate(board);
+            if (standPat >= beta || ply >= MoveOrdering.MAX_PLY - 1)
+            {
+                return standPat;
+            }
+            alpha = Math.max(alpha, standPat);
+
+            final MovePicker picker = new MovePicker(board, this.moveOrdering, MoveOrdering.NO_MOVE, ply, true);
+            Move move;
+            while ((move = picker.next()) != null)
+            {
+                final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+                if (!moveTransition.getMoveStatus().isDone())
+                {
+                    continue;
+                }
+                final int score = -quiescence(moveTransition.getTransitionBoard(), ply + 1, -beta, -alpha);
+                if (score > alpha)
+                {
+                    alpha = score;
+                    if (alpha >= beta)
+                    {
+                        break;
+                    }
+                }
+            }
+            return alpha;
+        }
+
+        // The evaluator scores from white's point of view; negamax wants the side to move
+        private int evaluate(final Board board)
+        {
+            this.counters.evaluations++;
+            final int score = boardEvaluator.evaluate(board, 0);
+            return board.currentPlayer().getAlliance().isWhite() ? score : -score;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+// Tunable terms of the StandardBoardEvaluator, stored as a flat vector so the
+// tuner can treat the evaluation as a dot product of weights and features.
+public final class EvaluatorWeights
+{
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int MOBILITY = 5;
+    public static final int CHECK = 6;
+    public static final int CASTLE = 7;
+    public static final int NUM_WEIGHTS = 8;
+
+    private static final String[] NAMES = {
+        "PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "MOBILITY", "CHECK_BONUS", "CASTLE_BONUS"
+    };
+
+    public static final EvaluatorWeights DEFAULT = new EvaluatorWeights(new int[] {
+        PieceType.PAWN.getPieceValue(),
+        PieceType.KNIGHT.getPieceValue(),
+        PieceType.BISHOP.getPieceValue(),
+        PieceType.ROOK.getPieceValue(),
+        PieceType.QUEEN.getPieceValue(),
+        1,
+        50,
+        60
+    });
+
+    private final int[] weights;
+
+    public EvaluatorWeights(final int[] weights)
+    {
+        if (weights.length != NUM_WEIGHTS)
+        {
+            throw new IllegalArgumentException("Expected " + NUM_WEIGHTS + " weights, got " + weights.length);
+        }
+        this.weights = weights.clone();
+    }
+
+    public int get(final int index)
+    {
+        return this.weights[index];
+    }
+
+    public int[] toArray()
+    {
+        return this.weights.clone();
+    }
+
+    public int getPieceValue(final PieceType pieceType)
+    {
+        switch (pieceType)
+        {
+            case PAWN: return this.weights[PAWN];
+            case KNIGHT: return this.weights[KNIGHT];
+            case BISHOP: return this.weights[BISHOP];
+            case ROOK: return this.weights[ROOK];
+            case QUEEN: return this.weights[QUEEN];
+            default: return pieceType.getPieceValue();
+        }
+    }
+
+    public static String getName(final int index)
+    {
+        return NAMES[index];
+    }
+
+    // Missing keys fall back to the default weights so older files keep loading
+    public static EvaluatorWeights load(final Path path) throws IOException
+    {
+        final Properties properties = new Properties();
+        try (final Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8))
+        {
+            properties.load(reader);
+        }
+        final int[] weights = DEFAULT.toArray();
+        for (int i = 0; i < NUM_WEIGHTS; i++)
+        {
+            final String value = properties.getProperty(NAMES[i]);
+            if (value != null)
+            {
+                weights[i] = Integer.parseInt(value.trim());
+            }
+        }
+        return new EvaluatorWeights(weights);
+    }
+
+    public void save(final Path path) throws IOException
+    {
+        try (final Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8))
+        {
+            for (int i = 0; i < NUM_WEIGHTS; i++)
+            {
+                writer.write(NAMES[i] + "=" + this.weights[i] + System.lineSeparator());
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(final Object other)
+    {
+        return this == other || other instanceof EvaluatorWeights &&
+                Arrays.equals(this.weights, ((EvaluatorWeights) other).weights);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Arrays.hashCode(this.weights);
+    }
+
+    @Override
+    public String toString()
+    {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < NUM_WEIGHTS; i++)
+        {
+            builder.append(NAMES[i]).append('=').append(this.weights[i]);
+            if (i < NUM_WEIGHTS - 1)
+            {
+                builder.append(", ");
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -8,11 +8,21 @@ public class MiniMax implements MoveStrategy {
 
     private final BoardEvaluator boardEvaluator;
     private final int searchDepth;
+    private final SearchCounters counters;
+    private volatile SearchStatistics lastStatistics;
 
     public MiniMax(int searchDepth)
     {
         this.boardEvaluator = new StandardBoardEvaluator();
         this.searchDepth = searchDepth;
+        this.counters = new SearchCounters();
+        this.lastStatistics = SearchStatistics.EMPTY;
+    }
+
+    // Nodes, evaluations and time of the last completed execute
+    public SearchStatistics getLastStatistics()
+    {
+        return this.lastStatistics;
     }
 
     @Override
@@ -24,6 +34,7 @@ public class MiniMax implements MoveStrategy {
     @Override
     public Move execute(Board board) {
         final long startTime = System.currentTimeMillis();
+        this.counters.clear();
 
         Move bestMove = null;
 
@@ -31,7 +42,6 @@ public class MiniMax implements MoveStrategy {
         int lowestSeenValue = Integer.MAX_VALUE;
         int currentValue;
 
-        System.out.println(board.currentPlayer() + "Thinking with Depth" + this.searchDepth);
         int numMoves = board.currentPlayer().getLegalMoves().size();
 
         for (final Move move : board.currentPlayer().getLegalMoves())
@@ -56,6 +66,7 @@ public class MiniMax implements MoveStrategy {
         }
 
         final long executionTime = System.currentTimeMillis() - startTime;
+        this.lastStatistics = new SearchStatistics(this.counters, new long[0], new long[0], executionTime);
 
         return bestMove;
      }
@@ -63,8 +74,10 @@ public class MiniMax implements MoveStrategy {
 
     public int min (final Board board, final int depth)
     {
+        this.counters.nodes++;
         if (depth == 0 )
         {
+            this.counters.evaluations++;
             return this.boardEvaluator.evaluate(board, depth);
         }
 
@@ -86,13 +99,15 @@ public class MiniMax implements MoveStrategy {
 
     private static boolean isEndGameScenario(final Board board)
     {
-        return  board.currentPlayer().isInCheckMate() || board.currentPlayer().isInStaleMate();
+        return board.getGameState().isGameOver();
     }
 
     private int max(final Board board, final int depth)
     {
+        this.counters.nodes++;
         if (depth == 0 || isEndGameScenario(board))
         {
+            this.counters.evaluations++;
             return this.boardEvaluator.evaluate(board, depth);
         }
 
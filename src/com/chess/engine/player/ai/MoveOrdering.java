@@ -0,0 +1,99 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+
+import java.util.Arrays;
+
+// Killer and history tables shared by all nodes of one search. Moves are remembered by
+// their packed key (Move.getPackedKey) because Move objects belong to a single board.
+public final class MoveOrdering
+{
+    public static final int NO_MOVE = 0;
+    static final int MAX_PLY = 128;
+
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    private final int[][] killers;
+    private final int[][][] history;
+
+    public MoveOrdering()
+    {
+        this.killers = new int[MAX_PLY][2];
+        this.history = new int[2][BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+    }
+
+    // Most valuable victim first, and among equal victims the least valuable attacker first
+    static int mvvLva(final Move move)
+    {
+        return move.getAttackedPiece().getPieceValue() - (move.getPieceToBeMoved().getPieceValue() / 100);
+    }
+
+    boolean isKiller(final int ply, final int code)
+    {
+        return ply < MAX_PLY && (this.killers[ply][0] == code || this.killers[ply][1] == code);
+    }
+
+    int getKiller(final int ply, final int slot)
+    {
+        return ply < MAX_PLY ? this.killers[ply][slot] : NO_MOVE;
+    }
+
+    int getHistory(final Alliance alliance, final Move move)
+    {
+        return this.history[alliance.ordinal()][move.getCurrentCoordinate()][move.getDestinationCoordinate()];
+    }
+
+    // Called when a quiet move causes a beta cutoff
+    void recordCutoff(final Alliance alliance, final Move move, final int ply, final int depth)
+    {
+        final int code = move.getPackedKey();
+        if (ply < MAX_PLY && this.killers[ply][0] != code)
+        {
+            this.killers[ply][1] = this.killers[ply][0];
+            this.killers[ply][0] = code;
+        }
+        final int[] fromHistory = this.history[alliance.ordinal()][move.getCurrentCoordinate()];
+        fromHistory[move.getDestinationCoordinate()] += depth * depth;
+        if (fromHistory[move.getDestinationCoordinate()] > HISTORY_LIMIT)
+        {
+            ageHistory();
+        }
+    }
+
+    // Halves every history score so old cutoffs weigh less than recent ones
+    public void ageHistory()
+    {
+        for (final int[][] allianceHistory : this.history)
+        {
+            for (final int[] fromHistory : allianceHistory)
+            {
+                for (int i = 0; i < fromHistory.length; i++)
+                {
+                    fromHistory[i] >>= 1;
+                }
+            }
+        }
+    }
+
+    public void clearKillers()
+    {
+        for (final int[] plyKillers : this.killers)
+        {
+            plyKillers[0] = NO_MOVE;
+            plyKillers[1] = NO_MOVE;
+        }
+    }
+
+    public void clearHistory()
+    {
+        for (final int[][] allianceHistory : this.history)
+        {
+            for (final int[] fromHistory : allianceHistory)
+            {
+                Arrays.fill(fromHistory, 0);
+            }
+        }
+    }
+}
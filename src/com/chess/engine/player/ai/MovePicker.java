@@ -0,0 +1,213 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Hands out the moves of one node in stages: hash move, winning and equal captures by
+// MVV-LVA, killer moves, quiet moves by history score and finally the losing captures.
+// Each stage is only sorted once the previous one is exhausted, so a cutoff on an early
+// move never pays for ordering the quiet moves.
+final class MovePicker
+{
+    private enum Stage
+    {
+        HASH_MOVE,
+        INIT_CAPTURES,
+        GOOD_CAPTURES,
+        KILLERS,
+        INIT_QUIETS,
+        QUIETS,
+        BAD_CAPTURES,
+        DONE
+    }
+
+    private final Collection<Move> legalMoves;
+    private final Alliance alliance;
+    private final MoveOrdering ordering;
+    private final int hashMove;
+    private final int ply;
+    private final boolean capturesOnly;
+
+    private final List<Move> stageMoves;
+    private final List<Move> badCaptures;
+    private int[] stageScores;
+    private int stageIndex;
+    private int killerSlot;
+    private Stage stage;
+
+    MovePicker(final Board board,
+               final MoveOrdering ordering,
+               final int hashMove,
+               final int ply,
+               final boolean capturesOnly)
+    {
+        this.legalMoves = board.currentPlayer().getLegalMoves();
+        this.alliance = board.currentPlayer().getAlliance();
+        this.ordering = ordering;
+        this.hashMove = hashMove;
+        this.ply = ply;
+        this.capturesOnly = capturesOnly;
+        this.stageMoves = new ArrayList<>();
+        this.badCaptures = new ArrayList<>();
+        this.stage = capturesOnly ? Stage.INIT_CAPTURES : Stage.HASH_MOVE;
+    }
+
+    Move next()
+    {
+        while (true)
+        {
+            switch (this.stage)
+            {
+                case HASH_MOVE:
+                    this.stage = Stage.INIT_CAPTURES;
+                    if (this.hashMove != MoveOrdering.NO_MOVE)
+                    {
+                        final Move move = findMove(this.hashMove);
+                        if (move != null)
+                        {
+                            return move;
+                        }
+                    }
+                    break;
+                case INIT_CAPTURES:
+                    initCaptures();
+                    this.stage = Stage.GOOD_CAPTURES;
+                    break;
+                case GOOD_CAPTURES:
+                    if (this.stageIndex < this.stageMoves.size())
+                    {
+                        return pickBest();
+                    }
+                    this.stage = this.capturesOnly ? Stage.DONE : Stage.KILLERS;
+                    break;
+                case KILLERS:
+                    while (this.killerSlot < 2)
+                    {
+                        final int killer = this.ordering.getKiller(this.ply, this.killerSlot++);
+                        if (killer != MoveOrdering.NO_MOVE && killer != this.hashMove)
+                        {
+                            final Move move = findMove(killer);
+                            if (move != null && !isCapture(move))
+                            {
+                                return move;
+                            }
+                        }
+                    }
+                    this.stage = Stage.INIT_QUIETS;
+                    break;
+                case INIT_QUIETS:
+                    initQuiets();
+                    this.stage = Stage.QUIETS;
+                    break;
+                case QUIETS:
+                    if (this.stageIndex < this.stageMoves.size())
+                    {
+                        return pickBest();
+                    }
+                    this.stageIndex = 0;
+                    this.stage = Stage.BAD_CAPTURES;
+                    break;
+                case BAD_CAPTURES:
+                    if (this.stageIndex < this.badCaptures.size())
+                    {
+                        return this.badCaptures.get(this.stageIndex++);
+                    }
+                    this.stage = Stage.DONE;
+                    break;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    static boolean isCapture(final Move move)
+    {
+        return move.isAttack() || move instanceof Move.PawnPromotion;
+    }
+
+    private void initCaptures()
+    {
+        this.stageMoves.clear();
+        for (final Move move : this.legalMoves)
+        {
+            if (isCapture(move) && move.getPackedKey() != this.hashMove)
+            {
+                // Only exchanges where the victim is worth less than the attacker can lose material
+                if (move.isAttack() &&
+                    move.getAttackedPiece().getPieceValue() < move.getPieceToBeMoved().getPieceValue() &&
+                    StaticExchangeEvaluator.evaluate(move) < 0)
+                {
+                    this.badCaptures.add(move);
+                }
+                else
+                {
+                    this.stageMoves.add(move);
+                }
+            }
+        }
+        this.stageScores = new int[this.stageMoves.size()];
+        for (int i = 0; i < this.stageScores.length; i++)
+        {
+            final Move move = this.stageMoves.get(i);
+            this.stageScores[i] = move.isAttack() ? MoveOrdering.mvvLva(move) : 0;
+        }
+        this.stageIndex = 0;
+    }
+
+    private void initQuiets()
+    {
+        this.stageMoves.clear();
+        for (final Move move : this.legalMoves)
+        {
+            final int code = move.getPackedKey();
+            if (!isCapture(move) && code != this.hashMove && !this.ordering.isKiller(this.ply, code))
+            {
+                this.stageMoves.add(move);
+            }
+        }
+        this.stageScores = new int[this.stageMoves.size()];
+        for (int i = 0; i < this.stageScores.length; i++)
+        {
+            this.stageScores[i] = this.ordering.getHistory(this.alliance, this.stageMoves.get(i));
+        }
+        this.stageIndex = 0;
+    }
+
+    // Selection sort one step at a time, since most nodes never use all of their moves
+    private Move pickBest()
+    {
+        int best = this.stageIndex;
+        for (int i = this.stageIndex + 1; i < this.stageScores.length; i++)
+        {
+            if (this.stageScores[i] > this.stageScores[best])
+            {
+                best = i;
+            }
+        }
+        final Move bestMove = this.stageMoves.get(best);
+        this.stageMoves.set(best, this.stageMoves.get(this.stageIndex));
+        this.stageMoves.set(this.stageIndex, bestMove);
+        final int bestScore = this.stageScores[best];
+        this.stageScores[best] = this.stageScores[this.stageIndex];
+        this.stageScores[this.stageIndex] = bestScore;
+        this.stageIndex++;
+        return bestMove;
+    }
+
+    private Move findMove(final int code)
+    {
+        for (final Move move : this.legalMoves)
+        {
+            if (move.getPackedKey() == code)
+            {
+                return move;
+            }
+        }
+        return null;
+    }
+}
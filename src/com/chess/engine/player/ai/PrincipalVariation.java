@@ -0,0 +1,58 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+// One scored line of play from the root, the first move being the root move it analyses
+public final class PrincipalVariation
+{
+    private final int score;
+    private final List<Move> moves;
+
+    public PrincipalVariation(final int score, final List<Move> moves)
+    {
+        this.score = score;
+        this.moves = ImmutableList.copyOf(moves);
+    }
+
+    public int getScore()
+    {
+        return this.score;
+    }
+
+    public List<Move> getMoves()
+    {
+        return this.moves;
+    }
+
+    public Move getFirstMove()
+    {
+        return this.moves.isEmpty() ? null : this.moves.get(0);
+    }
+
+    public boolean isMateScore()
+    {
+        return Math.abs(this.score) > AlphaBeta.MATE - MoveOrdering.MAX_PLY;
+    }
+
+    // Full moves to mate, negative when the side to move is getting mated
+    public int getMateDistance()
+    {
+        final int plies = AlphaBeta.MATE - Math.abs(this.score);
+        return this.score > 0 ? (plies + 1) / 2 : -(plies + 1) / 2;
+    }
+
+    @Override
+    public String toString()
+    {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(isMateScore() ? "mate " + getMateDistance() : "score " + this.score).append(" pv");
+        for (final Move move : this.moves)
+        {
+            builder.append(' ').append(move);
+        }
+        return builder.toString();
+    }
+}
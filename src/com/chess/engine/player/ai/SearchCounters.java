@@ -0,0 +1,40 @@
+package com.chess.engine.player.ai;
+
+// Event counts of one search thread. Only the owning thread writes them, as plain fields so
+// counting costs no more than an increment; other threads read them only to report progress,
+// where a slightly stale value does no harm.
+final class SearchCounters
+{
+    long nodes;
+    long quiescenceNodes;
+    long evaluations;
+    long tableProbes;
+    long tableHits;
+    long tableCutoffs;
+    long betaCutoffs;
+    long firstMoveBetaCutoffs;
+
+    void clear()
+    {
+        this.nodes = 0;
+        this.quiescenceNodes = 0;
+        this.evaluations = 0;
+        this.tableProbes = 0;
+        this.tableHits = 0;
+        this.tableCutoffs = 0;
+        this.betaCutoffs = 0;
+        this.firstMoveBetaCutoffs = 0;
+    }
+
+    void addTo(final SearchCounters total)
+    {
+        total.nodes += this.nodes;
+        total.quiescenceNodes += this.quiescenceNodes;
+        total.evaluations += this.evaluations;
+        total.tableProbes += this.tableProbes;
+        total.tableHits += this.tableHits;
+        total.tableCutoffs += this.tableCutoffs;
+        total.betaCutoffs += this.betaCutoffs;
+        total.firstMoveBetaCutoffs += this.firstMoveBetaCutoffs;
+    }
+}
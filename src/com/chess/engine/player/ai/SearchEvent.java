@@ -0,0 +1,40 @@
+package com.chess.engine.player.ai;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Flight Recorder event spanning one AlphaBeta search from start to finish
+@Name("com.chess.Search")
+@Label("Search")
+@Category({"Chess Engine", "Search"})
+@Description("One search of a position, from start to the returned move")
+@Enabled(false)
+@StackTrace(false)
+final class SearchEvent extends Event
+{
+    @Label("Position")
+    @Description("FEN of the searched position")
+    String position;
+
+    @Label("Depth")
+    @Description("Depth of the last completed iteration")
+    int depth;
+
+    @Label("Score")
+    @Description("Centipawns from the point of view of the side to move")
+    int score;
+
+    @Label("Nodes")
+    long nodes;
+
+    @Label("Threads")
+    int threads;
+
+    @Label("Best Move")
+    String bestMove;
+}
@@ -0,0 +1,30 @@
+package com.chess.engine.player.ai;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Flight Recorder event for one completed iteration of the main search thread
+@Name("com.chess.SearchIteration")
+@Label("Search Iteration")
+@Category({"Chess Engine", "Search"})
+@Description("One completed iteration of an iteratively deepened search")
+@Enabled(false)
+@StackTrace(false)
+final class SearchIterationEvent extends Event
+{
+    @Label("Depth")
+    int depth;
+
+    @Label("Score")
+    @Description("Centipawns from the point of view of the side to move")
+    int score;
+
+    @Label("Nodes")
+    @Description("Nodes searched by all threads during the iteration")
+    long nodes;
+}
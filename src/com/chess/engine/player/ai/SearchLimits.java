@@ -0,0 +1,132 @@
+package com.chess.engine.player.ai;
+
+// Controls one run of AlphaBeta.search: how deep and how long it may search, and whether it
+// is pondering. The caller keeps the instance to stop the search or report a ponder hit from
+// another thread, which works even before the search thread has actually started.
+//
+// A pondering search ignores its time limit and, once done, waits instead of returning. A
+// ponder hit turns it into a normal search whose clock starts at that moment, so the work
+// already done while the opponent was thinking is kept.
+//
+// An infinite search likewise waits for stop before returning, even once it has reached its
+// depth, so a GUI analysing a forced mate does not get a result it never asked for.
+public final class SearchLimits
+{
+    public static final long NO_TIME_LIMIT = 0;
+    public static final int DEFAULT_MOVES_TO_GO = 30;
+    public static final long MOVE_OVERHEAD_MILLIS = 50;
+
+    private final int depth;
+    private final long timeLimitMillis;
+    private final boolean infinite;
+    private volatile long startTime;
+    private volatile boolean pondering;
+    private volatile boolean stopped;
+
+    public SearchLimits(final int depth)
+    {
+        this(depth, NO_TIME_LIMIT, false);
+    }
+
+    public SearchLimits(final int depth,
+                        final long timeLimitMillis,
+                        final boolean ponder)
+    {
+        this(depth, timeLimitMillis, ponder, false);
+    }
+
+    public SearchLimits(final int depth,
+                        final long timeLimitMillis,
+                        final boolean ponder,
+                        final boolean infinite)
+    {
+        if (depth < 1)
+        {
+            throw new IllegalArgumentException("Search depth must be at least 1, got " + depth);
+        }
+        this.depth = depth;
+        this.timeLimitMillis = timeLimitMillis;
+        this.infinite = infinite;
+        this.startTime = System.currentTimeMillis();
+        this.pondering = ponder;
+    }
+
+    // Splits the remaining clock time evenly over the moves still to play, plus most of the increment
+    public static long timeForMove(final long remainingMillis,
+                                   final long incrementMillis,
+                                   final int movesToGo)
+    {
+        final long budget = remainingMillis / Math.max(1, movesToGo) + incrementMillis * 3 / 4;
+        return Math.max(1, Math.min(budget, remainingMillis / 2) - MOVE_OVERHEAD_MILLIS);
+    }
+
+    public int getDepth()
+    {
+        return this.depth;
+    }
+
+    public long getTimeLimitMillis()
+    {
+        return this.timeLimitMillis;
+    }
+
+    public boolean isPondering()
+    {
+        return this.pondering;
+    }
+
+    public boolean isInfinite()
+    {
+        return this.infinite;
+    }
+
+    public boolean isStopped()
+    {
+        return this.stopped;
+    }
+
+    public synchronized void stop()
+    {
+        this.stopped = true;
+        notifyAll();
+    }
+
+    // The opponent played the expected move: keep searching, now against the clock
+    public synchronized void ponderHit()
+    {
+        this.startTime = System.currentTimeMillis();
+        this.pondering = false;
+        notifyAll();
+    }
+
+    // Past this point the search must return as soon as possible
+    boolean isTimeUp()
+    {
+        return !this.pondering && this.timeLimitMillis != NO_TIME_LIMIT &&
+               System.currentTimeMillis() - this.startTime >= this.timeLimitMillis;
+    }
+
+    // Past this point a new iteration would most likely not finish in time, so none is started
+    boolean isIterationTimeUp()
+    {
+        return !this.pondering && this.timeLimitMillis != NO_TIME_LIMIT &&
+               System.currentTimeMillis() - this.startTime >= this.timeLimitMillis / 2;
+    }
+
+    // Holds a finished search back while it is pondering or infinite, until a ponder hit or stop
+    synchronized void awaitRelease()
+    {
+        while ((this.pondering || this.infinite) && !this.stopped)
+        {
+            try
+            {
+                wait();
+            }
+            catch (final InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.chess.engine.player.ai;
+
+public interface SearchListener {
+
+    void onIterationComplete(SearchResult result);
+
+    // Called about once a second while an iteration is running, from the searching thread
+    default void onProgress(SearchStatistics statistics)
+    {
+    }
+}
@@ -0,0 +1,147 @@
+package com.chess.engine.player.ai;
+
+// Options of the AlphaBeta search: the number of analysed lines and search threads, and
+// switches for the selective parts so each technique can be turned off on its own when
+// comparing engine builds.
+public final class SearchParameters
+{
+    public static final SearchParameters DEFAULT = new Builder().build();
+
+    private final boolean nullMovePruning;
+    private final boolean lateMoveReductions;
+    private final boolean futilityPruning;
+    private final boolean razoring;
+    private final int multiPv;
+    private final int threads;
+
+    private SearchParameters(final Builder builder)
+    {
+        this.multiPv = builder.multiPv;
+        this.threads = builder.threads;
+        this.nullMovePruning = builder.nullMovePruning;
+        this.lateMoveReductions = builder.lateMoveReductions;
+        this.futilityPruning = builder.futilityPruning;
+        this.razoring = builder.razoring;
+    }
+
+    public int getMultiPv()
+    {
+        return this.multiPv;
+    }
+
+    public int getThreads()
+    {
+        return this.threads;
+    }
+
+    public boolean isNullMovePruning()
+    {
+        return this.nullMovePruning;
+    }
+
+    public boolean isLateMoveReductions()
+    {
+        return this.lateMoveReductions;
+    }
+
+    public boolean isFutilityPruning()
+    {
+        return this.futilityPruning;
+    }
+
+    public boolean isRazoring()
+    {
+        return this.razoring;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "multiPv=" + this.multiPv +
+               " threads=" + this.threads +
+               " nullMove=" + this.nullMovePruning +
+               " lmr=" + this.lateMoveReductions +
+               " futility=" + this.futilityPruning +
+               " razoring=" + this.razoring;
+    }
+
+    public static class Builder
+    {
+        boolean nullMovePruning;
+        boolean lateMoveReductions;
+        boolean futilityPruning;
+        boolean razoring;
+        int multiPv;
+        int threads;
+
+        public Builder()
+        {
+            this.multiPv = 1;
+            this.threads = 1;
+            this.nullMovePruning = true;
+            this.lateMoveReductions = true;
+            this.futilityPruning = true;
+            this.razoring = true;
+        }
+
+        public Builder(final SearchParameters parameters)
+        {
+            this.multiPv = parameters.multiPv;
+            this.threads = parameters.threads;
+            this.nullMovePruning = parameters.nullMovePruning;
+            this.lateMoveReductions = parameters.lateMoveReductions;
+            this.futilityPruning = parameters.futilityPruning;
+            this.razoring = parameters.razoring;
+        }
+
+        public Builder setMultiPv(final int multiPv)
+        {
+            if (multiPv < 1)
+            {
+                throw new IllegalArgumentException("MultiPV must be at least 1, got " + multiPv);
+            }
+            this.multiPv = multiPv;
+            return this;
+        }
+
+        // Threads beyond the first run helper searches that share the transposition table
+        public Builder setThreads(final int threads)
+        {
+            if (threads < 1)
+            {
+                throw new IllegalArgumentException("Threads must be at least 1, got " + threads);
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder setNullMovePruning(final boolean nullMovePruning)
+        {
+            this.nullMovePruning = nullMovePruning;
+            return this;
+        }
+
+        public Builder setLateMoveReductions(final boolean lateMoveReductions)
+        {
+            this.lateMoveReductions = lateMoveReductions;
+            return this;
+        }
+
+        public Builder setFutilityPruning(final boolean futilityPruning)
+        {
+            this.futilityPruning = futilityPruning;
+            return this;
+        }
+
+        public Builder setRazoring(final boolean razoring)
+        {
+            this.razoring = razoring;
+            return this;
+        }
+
+        public SearchParameters build()
+        {
+            return new SearchParameters(this);
+        }
+    }
+}
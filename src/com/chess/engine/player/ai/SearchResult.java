@@ -0,0 +1,118 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Collections;
+import java.util.List;
+
+// Outcome of one completed search iteration. In multi-PV mode there is one line per analysed
+// root move, best first; the single-line getters describe the best of them.
+public final class SearchResult
+{
+    static final SearchResult EMPTY = new SearchResult(Collections.<PrincipalVariation>emptyList(), 0, SearchStatistics.EMPTY);
+
+    private final List<PrincipalVariation> lines;
+    private final int depth;
+    private final long nodes;
+    private final long timeMillis;
+    private final SearchStatistics statistics;
+
+    public SearchResult(final List<PrincipalVariation> lines,
+                        final int depth,
+                        final long nodes,
+                        final long timeMillis)
+    {
+        this.lines = ImmutableList.copyOf(lines);
+        this.depth = depth;
+        this.nodes = nodes;
+        this.timeMillis = timeMillis;
+        this.statistics = SearchStatistics.EMPTY;
+    }
+
+    SearchResult(final List<PrincipalVariation> lines,
+                 final int depth,
+                 final SearchStatistics statistics)
+    {
+        this.lines = ImmutableList.copyOf(lines);
+        this.depth = depth;
+        this.nodes = statistics.getNodes();
+        this.timeMillis = statistics.getTimeMillis();
+        this.statistics = statistics;
+    }
+
+    public Move getBestMove()
+    {
+        return this.lines.isEmpty() ? null : this.lines.get(0).getFirstMove();
+    }
+
+    // Score in centipawns from the point of view of the side to move at the root
+    public int getScore()
+    {
+        return this.lines.isEmpty() ? 0 : this.lines.get(0).getScore();
+    }
+
+    public List<Move> getPrincipalVariation()
+    {
+        return this.lines.isEmpty() ? Collections.<Move>emptyList() : this.lines.get(0).getMoves();
+    }
+
+    public List<PrincipalVariation> getLines()
+    {
+        return this.lines;
+    }
+
+    public int getDepth()
+    {
+        return this.depth;
+    }
+
+    public long getNodes()
+    {
+        return this.nodes;
+    }
+
+    public long getTimeMillis()
+    {
+        return this.timeMillis;
+    }
+
+    public long getNodesPerSecond()
+    {
+        return this.timeMillis > 0 ? (this.nodes * 1000) / this.timeMillis : this.nodes;
+    }
+
+    public SearchStatistics getStatistics()
+    {
+        return this.statistics;
+    }
+
+    public boolean isMateScore()
+    {
+        return !this.lines.isEmpty() && this.lines.get(0).isMateScore();
+    }
+
+    public int getMateDistance()
+    {
+        return this.lines.isEmpty() ? 0 : this.lines.get(0).getMateDistance();
+    }
+
+    SearchResult withStatistics(final SearchStatistics searchStatistics)
+    {
+        return new SearchResult(this.lines, this.depth, searchStatistics);
+    }
+
+    @Override
+    public String toString()
+    {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("depth ").append(this.depth)
+               .append(" nodes ").append(this.nodes)
+               .append(" time ").append(this.timeMillis);
+        for (final PrincipalVariation line : this.lines)
+        {
+            builder.append(this.lines.size() > 1 ? "\n  " : " ").append(line);
+        }
+        return builder.toString();
+    }
+}
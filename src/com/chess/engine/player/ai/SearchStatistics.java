@@ -0,0 +1,161 @@
+package com.chess.engine.player.ai;
+
+import com.google.common.primitives.Longs;
+
+import java.util.List;
+import java.util.Locale;
+
+// What a search did, summed over all its threads: nodes (quiescence nodes included), static
+// evaluations, transposition table use and beta cutoffs, plus the nodes and time each completed
+// iteration took. The share of cutoffs caused by the first move searched measures how good the
+// move ordering is; the ratio of nodes between consecutive iterations is the effective
+// branching factor. A snapshot taken while the search runs describes it up to that moment.
+public final class SearchStatistics
+{
+    static final SearchStatistics EMPTY = new SearchStatistics(new SearchCounters(), new long[0], new long[0], 0);
+
+    private final long nodes;
+    private final long quiescenceNodes;
+    private final long evaluations;
+    private final long tableProbes;
+    private final long tableHits;
+    private final long tableCutoffs;
+    private final long betaCutoffs;
+    private final long firstMoveBetaCutoffs;
+    // Indexed by depth - 1
+    private final long[] iterationNodes;
+    private final long[] iterationTimeMillis;
+    private final long timeMillis;
+
+    SearchStatistics(final SearchCounters counters,
+                     final long[] iterationNodes,
+                     final long[] iterationTimeMillis,
+                     final long timeMillis)
+    {
+        this.nodes = counters.nodes;
+        this.quiescenceNodes = counters.quiescenceNodes;
+        this.evaluations = counters.evaluations;
+        this.tableProbes = counters.tableProbes;
+        this.tableHits = counters.tableHits;
+        this.tableCutoffs = counters.tableCutoffs;
+        this.betaCutoffs = counters.betaCutoffs;
+        this.firstMoveBetaCutoffs = counters.firstMoveBetaCutoffs;
+        this.iterationNodes = iterationNodes;
+        this.iterationTimeMillis = iterationTimeMillis;
+        this.timeMillis = timeMillis;
+    }
+
+    SearchStatistics(final SearchCounters counters,
+                     final List<Long> iterationNodes,
+                     final List<Long> iterationTimeMillis,
+                     final long timeMillis)
+    {
+        this(counters, Longs.toArray(iterationNodes), Longs.toArray(iterationTimeMillis), timeMillis);
+    }
+
+    public long getNodes()
+    {
+        return this.nodes;
+    }
+
+    public long getQuiescenceNodes()
+    {
+        return this.quiescenceNodes;
+    }
+
+    public long getEvaluations()
+    {
+        return this.evaluations;
+    }
+
+    public long getTableProbes()
+    {
+        return this.tableProbes;
+    }
+
+    public long getTableHits()
+    {
+        return this.tableHits;
+    }
+
+    // Probes that ended the node with the stored score, without searching it
+    public long getTableCutoffs()
+    {
+        return this.tableCutoffs;
+    }
+
+    public double getTableHitRate()
+    {
+        return this.tableProbes > 0 ? (double) this.tableHits / this.tableProbes : 0;
+    }
+
+    public long getBetaCutoffs()
+    {
+        return this.betaCutoffs;
+    }
+
+    public long getFirstMoveBetaCutoffs()
+    {
+        return this.firstMoveBetaCutoffs;
+    }
+
+    public double getFirstMoveCutoffRate()
+    {
+        return this.betaCutoffs > 0 ? (double) this.firstMoveBetaCutoffs / this.betaCutoffs : 0;
+    }
+
+    public long getTimeMillis()
+    {
+        return this.timeMillis;
+    }
+
+    public long getNodesPerSecond()
+    {
+        return this.timeMillis > 0 ? (this.nodes * 1000) / this.timeMillis : this.nodes;
+    }
+
+    public int getCompletedDepth()
+    {
+        return this.iterationNodes.length;
+    }
+
+    public long getIterationNodes(final int depth)
+    {
+        return this.iterationNodes[depth - 1];
+    }
+
+    public long getIterationTimeMillis(final int depth)
+    {
+        return this.iterationTimeMillis[depth - 1];
+    }
+
+    // Nodes of the iteration to the given depth per node of the iteration before it
+    public double getBranchingFactor(final int depth)
+    {
+        if (depth < 2 || this.iterationNodes[depth - 2] == 0)
+        {
+            return 0;
+        }
+        return (double) this.iterationNodes[depth - 1] / this.iterationNodes[depth - 2];
+    }
+
+    @Override
+    public String toString()
+    {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(String.format(Locale.ROOT,
+                "nodes %d qnodes %d evals %d nps %d time %d tt hits %.1f%% tt cuts %d first move cuts %.1f%%",
+                this.nodes, this.quiescenceNodes, this.evaluations, getNodesPerSecond(), this.timeMillis,
+                100 * getTableHitRate(), this.tableCutoffs, 100 * getFirstMoveCutoffRate()));
+        for (int depth = 1; depth <= getCompletedDepth(); depth++)
+        {
+            builder.append(String.format(Locale.ROOT, "\n  depth %d nodes %d time %d", depth,
+                    getIterationNodes(depth), getIterationTimeMillis(depth)));
+            if (depth > 1)
+            {
+                builder.append(String.format(Locale.ROOT, " branching %.2f", getBranchingFactor(depth)));
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -4,14 +4,27 @@ import com.chess.engine.board.Board;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.Player;
 
-import java.lang.management.PlatformLoggingMXBean;
-
 public class StandardBoardEvaluator implements BoardEvaluator {
 
-    private static final int CHECK_BONUS = 50;
     private static final int CHECK_MATE_BONUS = 10000;
     private static final int DEPTH_BONUS = 100;
-    private static final int CASTLE_BONUS = 60;
+
+    private final EvaluatorWeights weights;
+
+    public StandardBoardEvaluator()
+    {
+        this(EvaluatorWeights.DEFAULT);
+    }
+
+    public StandardBoardEvaluator(final EvaluatorWeights weights)
+    {
+        this.weights = weights;
+    }
+
+    public EvaluatorWeights getWeights()
+    {
+        return this.weights;
+    }
 
     @Override
     public int evaluate (final Board board,
@@ -30,7 +43,7 @@ public class StandardBoardEvaluator implements BoardEvaluator {
 
     private int castled(Player player)
     {
-        return player.isCastled() ? CASTLE_BONUS : 0;
+        return player.isCastled() ? this.weights.get(EvaluatorWeights.CASTLE) : 0;
     }
 
     private static int checkmate(final Player player, int depth)
@@ -43,23 +56,66 @@ public class StandardBoardEvaluator implements BoardEvaluator {
         return depth == 0 ? 1 : DEPTH_BONUS * depth;
     }
 
-    private static int mobility(final Player player)
+    private int check(final Player player)
     {
-        return player.getOpponent().isInCheck() ? CHECK_BONUS : 0 ;
+        return player.getOpponent().isInCheck() ? this.weights.get(EvaluatorWeights.CHECK) : 0 ;
     }
 
-    private static int check(final Player player)
+    private int mobility(final Player player)
     {
-        return player.getLegalMoves().size();
+        return this.weights.get(EvaluatorWeights.MOBILITY) * player.getLegalMoves().size();
     }
 
-    private static int pieceValue (final Player player)
+    private int pieceValue (final Player player)
     {
         int pieceValueScore = 0;
         for (final Piece piece: player.getActivePieces())
         {
-            pieceValueScore += piece.getPieceValue();
+            pieceValueScore += this.weights.getPieceValue(piece.getPieceType());
         }
         return pieceValueScore;
     }
+
+    // Writes the white-minus-black count of every weighted term, so that for quiet
+    // positions evaluate() equals the dot product of these features and the weights
+    static void calculateFeatures(final Board board, final short[] features, final int offset)
+    {
+        for (int i = 0; i < EvaluatorWeights.NUM_WEIGHTS; i++)
+        {
+            features[offset + i] = 0;
+        }
+        countPlayerFeatures(board.whitePlayer(), features, offset, 1);
+        countPlayerFeatures(board.blackPlayer(), features, offset, -1);
+    }
+
+    private static void countPlayerFeatures(final Player player,
+                                            final short[] features,
+                                            final int offset,
+                                            final int sign)
+    {
+        for (final Piece piece: player.getActivePieces())
+        {
+            final int index = featureIndex(piece.getPieceType());
+            if (index >= 0)
+            {
+                features[offset + index] += sign;
+            }
+        }
+        features[offset + EvaluatorWeights.MOBILITY] += sign * player.getLegalMoves().size();
+        features[offset + EvaluatorWeights.CHECK] += player.getOpponent().isInCheck() ? sign : 0;
+        features[offset + EvaluatorWeights.CASTLE] += player.isCastled() ? sign : 0;
+    }
+
+    private static int featureIndex(final Piece.PieceType pieceType)
+    {
+        switch (pieceType)
+        {
+            case PAWN: return EvaluatorWeights.PAWN;
+            case KNIGHT: return EvaluatorWeights.KNIGHT;
+            case BISHOP: return EvaluatorWeights.BISHOP;
+            case ROOK: return EvaluatorWeights.ROOK;
+            case QUEEN: return EvaluatorWeights.QUEEN;
+            default: return -1;
+        }
+    }
 }
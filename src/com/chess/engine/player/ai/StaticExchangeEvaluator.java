@@ -0,0 +1,160 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+
+// Resolves the sequence of captures on a move's destination, always recapturing with the
+// least valuable attacker, and returns the material balance for the side making the move.
+// Pieces are only lifted off a removal mask, so no boards are built along the way.
+public final class StaticExchangeEvaluator
+{
+    private static final int MAX_EXCHANGES = 32;
+
+    private StaticExchangeEvaluator()
+    {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    public static boolean isLosingCapture(final Move move)
+    {
+        return move.isAttack() && evaluate(move) < 0;
+    }
+
+    public static int evaluate(final Move move)
+    {
+        if (move.isCastlingMove() || move.getPieceToBeMoved() == null)
+        {
+            return 0;
+        }
+        final Board board = move.getBoard();
+        final int square = move.getDestinationCoordinate();
+        final int[] gain = new int[MAX_EXCHANGES];
+        long removed = 1L << move.getCurrentCoordinate();
+
+        final Piece attackedPiece = move.getAttackedPiece();
+        if (attackedPiece != null)
+        {
+            gain[0] = attackedPiece.getPieceValue();
+            // En passant takes a pawn that is not on the destination square
+            removed |= 1L << attackedPiece.getPiecePosition();
+        }
+
+        int attackerValue = move.getPieceToBeMoved().getPieceValue();
+        Alliance side = opposite(move.getPieceToBeMoved().getPieceAlliance());
+        int depth = 0;
+        while (depth < MAX_EXCHANGES - 1)
+        {
+            depth++;
+            gain[depth] = attackerValue - gain[depth - 1];
+            if (Math.max(-gain[depth - 1], gain[depth]) < 0)
+            {
+                break;
+            }
+            final int attackerSquare = leastValuableAttacker(board, square, side, removed);
+            if (attackerSquare < 0)
+            {
+                break;
+            }
+            removed |= 1L << attackerSquare;
+            attackerValue = board.getTile(attackerSquare).getPiece().getPieceValue();
+            side = opposite(side);
+        }
+        while (--depth > 0)
+        {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+        }
+        return gain[0];
+    }
+
+    private static int leastValuableAttacker(final Board board,
+                                             final int square,
+                                             final Alliance side,
+                                             final long removed)
+    {
+        // A pawn attacks the square exactly when a pawn of the other colour on the square would attack it
+        final int pawnSquare = findPiece(board, AttackTables.pawnAttacks(opposite(side), square),
+                                         side, Piece.PieceType.PAWN, removed);
+        if (pawnSquare >= 0)
+        {
+            return pawnSquare;
+        }
+        final int knightSquare = findPiece(board, AttackTables.knightAttacks(square), side, Piece.PieceType.KNIGHT, removed);
+        if (knightSquare >= 0)
+        {
+            return knightSquare;
+        }
+
+        int bestSquare = -1;
+        int bestValue = Integer.MAX_VALUE;
+        for (int direction = 0; direction < AttackTables.NUM_DIRECTIONS; direction++)
+        {
+            final int candidate = firstOccupiedOnRay(board, AttackTables.ray(direction, square), removed);
+            if (candidate >= 0)
+            {
+                final Piece piece = board.getTile(candidate).getPiece();
+                final Piece.PieceType sliderType = AttackTables.isDiagonal(direction) ? Piece.PieceType.BISHOP
+                                                                                      : Piece.PieceType.ROOK;
+                if (piece.getPieceAlliance() == side &&
+                    (piece.getPieceType() == sliderType || piece.getPieceType() == Piece.PieceType.QUEEN) &&
+                    piece.getPieceValue() < bestValue)
+                {
+                    bestSquare = candidate;
+                    bestValue = piece.getPieceValue();
+                }
+            }
+        }
+        if (bestSquare >= 0)
+        {
+            return bestSquare;
+        }
+        return findPiece(board, AttackTables.kingAttacks(square), side, Piece.PieceType.KING, removed);
+    }
+
+    private static int firstOccupiedOnRay(final Board board, final int[] ray, final long removed)
+    {
+        for (final int candidate : ray)
+        {
+            if (isOccupied(board, candidate, removed))
+            {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    // The first square of the set holding a piece of the given kind and colour, or -1
+    private static int findPiece(final Board board,
+                                 long squares,
+                                 final Alliance side,
+                                 final Piece.PieceType pieceType,
+                                 final long removed)
+    {
+        while (squares != 0)
+        {
+            final int square = Long.numberOfTrailingZeros(squares);
+            if (isOccupied(board, square, removed))
+            {
+                final Piece piece = board.getTile(square).getPiece();
+                if (piece.getPieceAlliance() == side && piece.getPieceType() == pieceType)
+                {
+                    return square;
+                }
+            }
+            squares &= squares - 1;
+        }
+        return -1;
+    }
+
+    private static boolean isOccupied(final Board board, final int square, final long removed)
+    {
+        return (removed & (1L << square)) == 0 && board.getTile(square).isTileOccupied();
+    }
+
+    private static Alliance opposite(final Alliance alliance)
+    {
+        return alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+    }
+}
@@ -0,0 +1,382 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.pgn.FenUtilities;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+// Tunes the StandardBoardEvaluator weights against a file of quiet positions labelled with
+// game results, one per line: "<fen> <result>" where the result is 1-0, 0-1, 1/2-1/2 or a
+// white score such as [1.0], [0.5] or [0.0].
+//
+// Usage: TexelTuner <positions file> <output weights file> [initial weights file]
+public final class TexelTuner
+{
+    private static final int FEATURES = EvaluatorWeights.NUM_WEIGHTS;
+    private static final int READ_BATCH_SIZE = 1 << 16;
+    private static final int CHUNK_SIZE = 1 << 14;
+    private static final int INITIAL_STEP = 16;
+    private static final byte INVALID_RESULT = -1;
+    // Largest array length every JVM will allocate
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final ForkJoinPool pool;
+    private short[] features;
+    private byte[] results;
+    private int numPositions;
+
+    private TexelTuner(final ForkJoinPool pool)
+    {
+        this.pool = pool;
+        this.features = new short[0];
+        this.results = new byte[0];
+        this.numPositions = 0;
+    }
+
+    public static void main(final String[] args) throws IOException
+    {
+        if (args.length < 2)
+        {
+            System.out.println("Usage: TexelTuner <positions file> <output weights file> [initial weights file]");
+            return;
+        }
+        final EvaluatorWeights initialWeights = args.length > 2 ?
+                EvaluatorWeights.load(Paths.get(args[2])) : EvaluatorWeights.DEFAULT;
+        final TexelTuner tuner = new TexelTuner(ForkJoinPool.commonPool());
+        final long startTime = System.currentTimeMillis();
+        tuner.loadPositions(Paths.get(args[0]));
+        System.out.println("Loaded " + tuner.numPositions + " positions in " +
+                (System.currentTimeMillis() - startTime) + " ms");
+        tuner.tune(initialWeights, Paths.get(args[1]));
+    }
+
+    // Counts the positions first so the feature array is allocated once at its final size
+    // instead of being copied into ever larger arrays while reading
+    private void loadPositions(final Path path) throws IOException
+    {
+        allocate(countPositions(path));
+        final String[] batch = new String[READ_BATCH_SIZE];
+        final short[] batchFeatures = new short[READ_BATCH_SIZE * FEATURES];
+        final byte[] batchResults = new byte[READ_BATCH_SIZE];
+        long skipped = 0;
+        try (final BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8))
+        {
+            int batchSize;
+            do
+            {
+                batchSize = 0;
+                String line;
+                while (batchSize < READ_BATCH_SIZE && (line = reader.readLine()) != null)
+                {
+                    if (!line.trim().isEmpty())
+                    {
+                        batch[batchSize++] = line;
+                    }
+                }
+                this.pool.invoke(new ExtractTask(batch, batchFeatures, batchResults, 0, batchSize));
+                for (int i = 0; i < batchSize; i++)
+                {
+                    if (batchResults[i] == INVALID_RESULT)
+                    {
+                        skipped++;
+                        continue;
+                    }
+                    addPosition(batchFeatures, i * FEATURES, batchResults[i]);
+                }
+            } while (batchSize == READ_BATCH_SIZE);
+        }
+        if (skipped > 0)
+        {
+            System.out.println("Skipped " + skipped + " unreadable or non-quiet positions");
+        }
+    }
+
+    private static long countPositions(final Path path) throws IOException
+    {
+        long count = 0;
+        try (final BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8))
+        {
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                if (!line.trim().isEmpty())
+                {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private void allocate(final long positions)
+    {
+        final long featureCount = positions * FEATURES;
+        if (featureCount > MAX_ARRAY_LENGTH)
+        {
+            throw new RuntimeException("Too many positions to tune on: " + positions + ", at most " +
+                    (MAX_ARRAY_LENGTH / FEATURES) + " fit with " + FEATURES + " weights");
+        }
+        this.features = new short[(int) featureCount];
+        this.results = new byte[(int) positions];
+        this.numPositions = 0;
+    }
+
+    private void addPosition(final short[] source, final int offset, final byte result)
+    {
+        if (this.numPositions == this.results.length)
+        {
+            throw new RuntimeException("Positions file grew while it was being read");
+        }
+        System.arraycopy(source, offset, this.features, this.numPositions * FEATURES, FEATURES);
+        this.results[this.numPositions] = result;
+        this.numPositions++;
+    }
+
+    private void tune(final EvaluatorWeights initialWeights, final Path output) throws IOException
+    {
+        final int[] weights = initialWeights.toArray();
+        final double scalingConstant = computeScalingConstant(weights);
+        System.out.println("Scaling constant K = " + scalingConstant);
+
+        double bestError = error(weights, scalingConstant);
+        System.out.println("Initial error " + bestError);
+
+        int step = INITIAL_STEP;
+        int iteration = 0;
+        while (step > 0)
+        {
+            final long startTime = System.currentTimeMillis();
+            boolean improved = false;
+            for (int i = 0; i < FEATURES; i++)
+            {
+                weights[i] += step;
+                double newError = error(weights, scalingConstant);
+                if (newError < bestError)
+                {
+                    bestError = newError;
+                    improved = true;
+                    continue;
+                }
+                weights[i] -= 2 * step;
+                newError = error(weights, scalingConstant);
+                if (newError < bestError)
+                {
+                    bestError = newError;
+                    improved = true;
+                    continue;
+                }
+                weights[i] += step;
+            }
+            iteration++;
+            final EvaluatorWeights tunedWeights = new EvaluatorWeights(weights);
+            System.out.println("Iteration " + iteration + " step " + step + " error " + bestError +
+                    " (" + (System.currentTimeMillis() - startTime) + " ms) " + tunedWeights);
+            if (improved)
+            {
+                tunedWeights.save(output);
+            }
+            else
+            {
+                step /= 2;
+            }
+        }
+        new EvaluatorWeights(weights).save(output);
+        System.out.println("Wrote tuned weights to " + output);
+    }
+
+    // Finds the K that best maps the initial evaluation onto the game results,
+    // narrowing the search interval by a factor of ten on each pass
+    private double computeScalingConstant(final int[] weights)
+    {
+        double bestK = 1.0;
+        double bestError = error(weights, bestK);
+        double delta = 1.0;
+        for (int pass = 0; pass < 4; pass++)
+        {
+            final double center = bestK;
+            for (int i = -10; i <= 10; i++)
+            {
+                final double k = center + (i * delta / 10);
+                if (k <= 0)
+                {
+                    continue;
+                }
+                final double kError = error(weights, k);
+                if (kError < bestError)
+                {
+                    bestError = kError;
+                    bestK = k;
+                }
+            }
+            delta /= 10;
+        }
+        return bestK;
+    }
+
+    private double error(final int[] weights, final double scalingConstant)
+    {
+        final double sum = this.pool.invoke(new ErrorTask(this.features, this.results, weights.clone(),
+                scalingConstant, 0, this.numPositions));
+        return sum / this.numPositions;
+    }
+
+    private static byte parseResult(final String resultText)
+    {
+        if (resultText.contains("1/2-1/2") || resultText.contains("0.5"))
+        {
+            return 1;
+        }
+        if (resultText.contains("1-0") || resultText.contains("1.0"))
+        {
+            return 2;
+        }
+        if (resultText.contains("0-1") || resultText.contains("0.0"))
+        {
+            return 0;
+        }
+        return INVALID_RESULT;
+    }
+
+    private static final class ExtractTask extends RecursiveAction
+    {
+        private final String[] lines;
+        private final short[] features;
+        private final byte[] results;
+        private final int start;
+        private final int end;
+
+        ExtractTask(final String[] lines,
+                    final short[] features,
+                    final byte[] results,
+                    final int start,
+                    final int end)
+        {
+            this.lines = lines;
+            this.features = features;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (this.end - this.start <= CHUNK_SIZE / 16)
+            {
+                for (int i = this.start; i < this.end; i++)
+                {
+                    this.results[i] = extract(this.lines[i], i * FEATURES);
+                }
+                return;
+            }
+            final int middle = (this.start + this.end) >>> 1;
+            invokeAll(new ExtractTask(this.lines, this.features, this.results, this.start, middle),
+                      new ExtractTask(this.lines, this.features, this.results, middle, this.end));
+        }
+
+        private byte extract(final String line, final int offset)
+        {
+            // The first four FEN fields are mandatory; the move counters are optional
+            final String[] tokens = line.trim().split("\\s+");
+            if (tokens.length < 5)
+            {
+                return INVALID_RESULT;
+            }
+            int fenLength = 4;
+            while (fenLength < tokens.length && fenLength < 6 && tokens[fenLength].matches("\\d+"))
+            {
+                fenLength++;
+            }
+            final StringBuilder resultText = new StringBuilder();
+            for (int i = fenLength; i < tokens.length; i++)
+            {
+                resultText.append(tokens[i]);
+            }
+            final byte result = parseResult(resultText.toString());
+            if (result == INVALID_RESULT)
+            {
+                return INVALID_RESULT;
+            }
+            try
+            {
+                final Board board = FenUtilities.createGameFromFEN(String.join(" ", Arrays.copyOf(tokens, fenLength)));
+                if (board.currentPlayer().isInCheck())
+                {
+                    return INVALID_RESULT;
+                }
+                StandardBoardEvaluator.calculateFeatures(board, this.features, offset);
+                return result;
+            }
+            catch (final RuntimeException e)
+            {
+                return INVALID_RESULT;
+            }
+        }
+    }
+
+    private static final class ErrorTask extends RecursiveTask<Double>
+    {
+        private static final double LOG_10 = Math.log(10);
+
+        private final short[] features;
+        private final byte[] results;
+        private final int[] weights;
+        private final double scalingConstant;
+        private final int start;
+        private final int end;
+
+        ErrorTask(final short[] features,
+                  final byte[] results,
+                  final int[] weights,
+                  final double scalingConstant,
+                  final int start,
+                  final int end)
+        {
+            this.features = features;
+            this.results = results;
+            this.weights = weights;
+            this.scalingConstant = scalingConstant;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Double compute()
+        {
+            if (this.end - this.start <= CHUNK_SIZE)
+            {
+                final double exponentScale = -this.scalingConstant * LOG_10 / 400;
+                double sum = 0;
+                for (int i = this.start; i < this.end; i++)
+                {
+                    final int offset = i * FEATURES;
+                    int evaluation = 0;
+                    for (int j = 0; j < FEATURES; j++)
+                    {
+                        evaluation += this.weights[j] * this.features[offset + j];
+                    }
+                    final double sigmoid = 1.0 / (1.0 + Math.exp(exponentScale * evaluation));
+                    final double difference = (this.results[i] * 0.5) - sigmoid;
+                    sum += difference * difference;
+                }
+                return sum;
+            }
+            final int middle = (this.start + this.end) >>> 1;
+            final ErrorTask left = new ErrorTask(this.features, this.results, this.weights,
+                    this.scalingConstant, this.start, middle);
+            final ErrorTask right = new ErrorTask(this.features, this.results, this.weights,
+                    this.scalingConstant, middle, this.end);
+            left.fork();
+            return right.compute() + left.join();
+        }
+    }
+}
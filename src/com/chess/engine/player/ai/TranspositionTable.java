@@ -0,0 +1,137 @@
+package com.chess.engine.player.ai;
+
+// Fixed size hash table of search results keyed by Zobrist hash. Each entry is packed into a
+// single long (score, move, depth, bound) and the key is stored xor-ed with the data, so a
+// torn write from another search thread reads back as a miss instead of a wrong entry.
+public final class TranspositionTable
+{
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+    public static final long MISS = 0;
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int BYTES_PER_MEGABYTE = 1 << 20;
+    private static final int USAGE_SAMPLE = 1000;
+
+    private long[] keys;
+    private long[] data;
+    private int mask;
+
+    public TranspositionTable(final int sizeInMegabytes)
+    {
+        allocate(sizeInMegabytes);
+    }
+
+    public synchronized void resize(final int sizeInMegabytes)
+    {
+        final TranspositionTableResizeEvent event = new TranspositionTableResizeEvent();
+        event.begin();
+        final long previousBytes = (long) this.keys.length * ENTRY_BYTES;
+        allocate(sizeInMegabytes);
+        event.end();
+        if (event.shouldCommit())
+        {
+            event.previousBytes = previousBytes;
+            event.newBytes = (long) this.keys.length * ENTRY_BYTES;
+            event.entries = this.keys.length;
+            event.commit();
+        }
+    }
+
+    private void allocate(final int sizeInMegabytes)
+    {
+        // Round down to a power of two so the index is a mask of the key
+        final long requestedEntries = Math.max(1L, (long) sizeInMegabytes * BYTES_PER_MEGABYTE / ENTRY_BYTES);
+        final int entries = Integer.highestOneBit((int) Math.min(requestedEntries, 1 << 30));
+        this.keys = new long[entries];
+        this.data = new long[entries];
+        this.mask = entries - 1;
+    }
+
+    public int capacity()
+    {
+        return this.keys.length;
+    }
+
+    // Share of entries in use, sampled from the start of the table the way UCI hashfull is
+    public double usage()
+    {
+        final long[] entries = this.data;
+        final int sampled = Math.min(USAGE_SAMPLE, entries.length);
+        int used = 0;
+        for (int i = 0; i < sampled; i++)
+        {
+            if (entries[i] != MISS)
+            {
+                used++;
+            }
+        }
+        return (double) used / sampled;
+    }
+
+    public void clear()
+    {
+        final int entries = this.keys.length;
+        this.keys = new long[entries];
+        this.data = new long[entries];
+    }
+
+    public long probe(final long key)
+    {
+        final int index = (int) key & this.mask;
+        final long entry = this.data[index];
+        if (entry != MISS && (this.keys[index] ^ entry) == key)
+        {
+            return entry;
+        }
+        return MISS;
+    }
+
+    // Keeps the deeper of two results for the same position; a different position always replaces
+    public void store(final long key,
+                      final int move,
+                      final int score,
+                      final int depth,
+                      final int bound)
+    {
+        final int index = (int) key & this.mask;
+        final long existing = this.data[index];
+        if (existing != MISS && (this.keys[index] ^ existing) == key && depth < getDepth(existing) && bound != EXACT)
+        {
+            return;
+        }
+        final long entry = pack(move, score, depth, bound);
+        this.keys[index] = key ^ entry;
+        this.data[index] = entry;
+    }
+
+    private static long pack(final int move, final int score, final int depth, final int bound)
+    {
+        // The bound is stored plus one so that a stored entry is never equal to MISS
+        return (score & 0xFFFFFFFFL) |
+               ((long) (move & 0xFFFF) << 32) |
+               ((long) (depth & 0xFF) << 48) |
+               ((long) (bound + 1) << 56);
+    }
+
+    public static int getScore(final long entry)
+    {
+        return (int) entry;
+    }
+
+    public static int getMove(final long entry)
+    {
+        return (int) ((entry >>> 32) & 0xFFFF);
+    }
+
+    public static int getDepth(final long entry)
+    {
+        return (int) ((entry >>> 48) & 0xFF);
+    }
+
+    public static int getBound(final long entry)
+    {
+        return (int) ((entry >>> 56) & 0xFF) - 1;
+    }
+}
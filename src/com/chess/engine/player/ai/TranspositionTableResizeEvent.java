@@ -0,0 +1,30 @@
+package com.chess.engine.player.ai;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Flight Recorder event for allocating the arrays of a transposition table, which for a large
+// table is a burst of allocation the GC will notice
+@Name("com.chess.TranspositionTableResize")
+@Label("Transposition Table Resize")
+@Category({"Chess Engine", "Search"})
+@Description("Allocation of a transposition table of a new size")
+@Enabled(false)
+final class TranspositionTableResizeEvent extends Event
+{
+    @Label("Previous Size")
+    @DataAmount
+    long previousBytes;
+
+    @Label("New Size")
+    @DataAmount
+    long newBytes;
+
+    @Label("Entries")
+    int entries;
+}
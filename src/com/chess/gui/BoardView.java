@@ -0,0 +1,178 @@
+package com.chess.gui;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.pieces.Piece;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Objects;
+
+// Paints a whole board in one component. It remembers what each square shows and, when given
+// a new board or new overlays, repaints only the squares whose picture changed, so a move
+// costs two or three small repaints instead of a layout of 64 child components.
+public class BoardView extends JComponent
+{
+    private static final Color LIGHT_TILE_COLOR = Color.decode("#FACDFF");
+    private static final Color DARK_TILE_COLOR = Color.decode("#D663e6");
+    private static final double OVERLAY_SCALE = 0.3;
+
+    private final Piece[] pieces;
+    private final String[] overlays;
+    private boolean flipped;
+
+    public BoardView()
+    {
+        this.pieces = new Piece[BoardUtils.NUM_TILES];
+        this.overlays = new String[BoardUtils.NUM_TILES];
+        setOpaque(true);
+    }
+
+    public void setBoard(final Board board)
+    {
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++)
+        {
+            final Piece piece = board.getTile(i).getPiece();
+            if (!samePicture(this.pieces[i], piece))
+            {
+                this.pieces[i] = piece;
+                repaintSquare(i);
+            }
+        }
+    }
+
+    // One overlay image name per square, or null for none
+    void setOverlays(final String[] newOverlays)
+    {
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++)
+        {
+            if (!Objects.equals(this.overlays[i], newOverlays[i]))
+            {
+                this.overlays[i] = newOverlays[i];
+                repaintSquare(i);
+            }
+        }
+    }
+
+    public void setFlipped(final boolean flipped)
+    {
+        if (this.flipped != flipped)
+        {
+            this.flipped = flipped;
+            repaint();
+        }
+    }
+
+    // The tile under a point of this component, or -1 outside the board
+    int squareAt(final Point point)
+    {
+        final int squareSize = squareSize();
+        if (squareSize == 0)
+        {
+            return -1;
+        }
+        final int column = (point.x - xOffset()) / squareSize;
+        final int row = (point.y - yOffset()) / squareSize;
+        if (point.x < xOffset() || point.y < yOffset() || column >= BoardUtils.NUM_TILES_PER_ROW ||
+            row >= BoardUtils.NUM_TILES_PER_ROW)
+        {
+            return -1;
+        }
+        final int tileId = row * BoardUtils.NUM_TILES_PER_ROW + column;
+        return this.flipped ? BoardUtils.NUM_TILES - 1 - tileId : tileId;
+    }
+
+    @Override
+    protected void paintComponent(final Graphics g)
+    {
+        g.setColor(getBackground());
+        final Rectangle clip = g.getClipBounds() != null ? g.getClipBounds() : new Rectangle(getSize());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        final int squareSize = squareSize();
+        if (squareSize == 0)
+        {
+            return;
+        }
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++)
+        {
+            final Rectangle bounds = squareBounds(i, squareSize);
+            if (clip.intersects(bounds))
+            {
+                paintSquare(g, i, bounds);
+            }
+        }
+    }
+
+    private void paintSquare(final Graphics g, final int tileId, final Rectangle bounds)
+    {
+        g.setColor(isLightSquare(tileId) ? LIGHT_TILE_COLOR : DARK_TILE_COLOR);
+        g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        if (this.pieces[tileId] != null)
+        {
+            drawCentered(g, ImageCache.getPieceImage(this.pieces[tileId], bounds.width), bounds);
+        }
+        if (this.overlays[tileId] != null)
+        {
+            drawCentered(g, ImageCache.getOverlayImage(this.overlays[tileId],
+                    (int) (bounds.width * OVERLAY_SCALE)), bounds);
+        }
+    }
+
+    private static void drawCentered(final Graphics g, final BufferedImage image, final Rectangle bounds)
+    {
+        if (image != null)
+        {
+            g.drawImage(image, bounds.x + (bounds.width - image.getWidth()) / 2,
+                    bounds.y + (bounds.height - image.getHeight()) / 2, null);
+        }
+    }
+
+    private void repaintSquare(final int tileId)
+    {
+        final int squareSize = squareSize();
+        if (squareSize > 0)
+        {
+            repaint(squareBounds(tileId, squareSize));
+        }
+    }
+
+    private Rectangle squareBounds(final int tileId, final int squareSize)
+    {
+        final int square = this.flipped ? BoardUtils.NUM_TILES - 1 - tileId : tileId;
+        return new Rectangle(xOffset() + (square % BoardUtils.NUM_TILES_PER_ROW) * squareSize,
+                             yOffset() + (square / BoardUtils.NUM_TILES_PER_ROW) * squareSize,
+                             squareSize, squareSize);
+    }
+
+    private int squareSize()
+    {
+        return Math.min(getWidth(), getHeight()) / BoardUtils.NUM_TILES_PER_ROW;
+    }
+
+    private int xOffset()
+    {
+        return (getWidth() - squareSize() * BoardUtils.NUM_TILES_PER_ROW) / 2;
+    }
+
+    private int yOffset()
+    {
+        return (getHeight() - squareSize() * BoardUtils.NUM_TILES_PER_ROW) / 2;
+    }
+
+    private static boolean isLightSquare(final int tileId)
+    {
+        return (tileId / BoardUtils.NUM_TILES_PER_ROW + tileId % BoardUtils.NUM_TILES_PER_ROW) % 2 == 0;
+    }
+
+    // Pieces of the same kind and colour look the same wherever they came from
+    private static boolean samePicture(final Piece first, final Piece second)
+    {
+        if (first == null || second == null)
+        {
+            return first == second;
+        }
+        return first.getPieceType() == second.getPieceType() &&
+               first.getPieceAlliance() == second.getPieceAlliance();
+    }
+}
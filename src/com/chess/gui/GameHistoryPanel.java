@@ -11,10 +11,15 @@ import java.util.List;
 
 import static com.chess.gui.Table.*;
 
+// Shows the moves of the game two per row. After a move only that move is added, firing a
+// single row event; the whole table is rebuilt only when the log changed in any other way,
+// such as a new game or a take-back.
 public class GameHistoryPanel extends JPanel
 {
     private final DataModel model;
     private final JScrollPane scrollPane;
+    private int shownMoves;
+    private Move lastShownMove;
     private static final Dimension HISTORY_PANEL_DIMENSION = new Dimension(100,400);
     GameHistoryPanel()
     {
@@ -29,39 +34,70 @@ public class GameHistoryPanel extends JPanel
         this.setVisible(true);
     }
 
+    // Rebuilds the table from the whole log
     void redo (final Board board, final MoveLog moveHistory)
     {
-        int currentRow = 0;
         this.model.clear();
-        for (final Move move: moveHistory.getMoves())
+        final List<Move> moves = moveHistory.getMoves();
+        for (int i = 0; i < moves.size(); i++)
         {
-            final String moveText = move.toString();
-            if(move.getPieceToBeMoved().getPieceAlliance().isWhite())
-            {
-                this.model.setValueAt(moveText,currentRow, 0);
-            }else if (move.getPieceToBeMoved().getPieceAlliance().isBlack())
-            {
-                this.model.setValueAt(moveText,currentRow,1);
-                currentRow++;
-            }
-        }
+            final Move move = moves.get(i);
+            // Each move was made on the board the next one starts from, so every move gets the
+            // same check mark update gave it without replaying the game
+            final Board boardAfterMove = i < moves.size() - 1 ? moves.get(i + 1).getBoard() : board;
+            this.model.addMove(move.getPieceToBeMoved().getPieceAlliance().isWhite(),
+                    move.toString() + calculateCheckandCheckMateHash(boardAfterMove));
+        }
+        this.model.fireTableDataChanged();
+        remember(moveHistory);
+        scrollToLastMove();
+    }
 
-        if(moveHistory.getMoves().size() > 0)
+    // Adds the latest move of the log, or rebuilds if the log is not the shown one plus a move
+    void update (final Board board, final MoveLog moveHistory)
+    {
+        if (isShown(moveHistory, moveHistory.size()))
         {
-            final Move lastMove = moveHistory.getMoves().get(moveHistory.size() - 1);
-            final String moveText = lastMove.toString();
-            if (lastMove.getPieceToBeMoved().getPieceAlliance().isWhite())
-            {
-                this.model.setValueAt(moveText + calculateCheckandCheckMateHash(board), currentRow, 0  );
-            } else if ( lastMove.getPieceToBeMoved().getPieceAlliance().isBlack())
-            {
-                this.model.setValueAt(moveText + calculateCheckandCheckMateHash(board),currentRow, 0);
-            }
+            return;
+        }
+        if (!isShown(moveHistory, moveHistory.size() - 1))
+        {
+            redo(board, moveHistory);
+            return;
+        }
+        final Move move = moveHistory.getMoves().get(moveHistory.size() - 1);
+        final boolean whiteMove = move.getPieceToBeMoved().getPieceAlliance().isWhite();
+        final int rowCount = this.model.getRowCount();
+        final int row = this.model.addMove(whiteMove, move.toString() + calculateCheckandCheckMateHash(board));
+        if (row == rowCount)
+        {
+            this.model.fireTableRowsInserted(row, row);
         }
+        else
+        {
+            this.model.fireTableRowsUpdated(row, row);
+        }
+        remember(moveHistory);
+        scrollToLastMove();
+    }
+
+    // Whether the first moveCount moves of the log are exactly the moves on display
+    private boolean isShown(final MoveLog moveHistory, final int moveCount)
+    {
+        return moveCount == this.shownMoves &&
+               (moveCount == 0 || moveHistory.getMoves().get(moveCount - 1) == this.lastShownMove);
+    }
+
+    private void remember(final MoveLog moveHistory)
+    {
+        this.shownMoves = moveHistory.size();
+        this.lastShownMove = this.shownMoves > 0 ? moveHistory.getMoves().get(this.shownMoves - 1) : null;
+    }
 
+    private void scrollToLastMove()
+    {
         final JScrollBar vertical = scrollPane.getVerticalScrollBar();
         vertical.setValue(vertical.getMaximum());
-
     }
 
     private String calculateCheckandCheckMateHash(Board board) {
@@ -89,6 +125,27 @@ public class GameHistoryPanel extends JPanel
             setRowCount(0);
         }
 
+        // Puts a white move in a new row and a black move next to the white move before it;
+        // returns the row without firing an event so callers can fire one for the whole change
+        int addMove(final boolean whiteMove, final String moveText)
+        {
+            final int lastRow = this.values.size() - 1;
+            if (whiteMove || lastRow < 0 || this.values.get(lastRow).getBlackMove() != null)
+            {
+                this.values.add(new Row());
+            }
+            final int row = this.values.size() - 1;
+            if (whiteMove)
+            {
+                this.values.get(row).setWhiteMove(moveText);
+            }
+            else
+            {
+                this.values.get(row).setBlackMove(moveText);
+            }
+            return row;
+        }
+
         @Override
         public int getRowCount() {
             if (this.values == null) {
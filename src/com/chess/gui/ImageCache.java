@@ -0,0 +1,117 @@
+package com.chess.gui;
+
+import com.chess.engine.pieces.Piece;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Decodes every piece and overlay image once and hands out the same instance on every redraw.
+// Images are looked up on the classpath first, so a packaged build works from a jar, and fall
+// back to the art directory relative to the working directory. Scaled copies are cached per size.
+final class ImageCache
+{
+    static final String GREEN_DOT = "green_dot";
+    static final String RED_DOT = "red_dot";
+
+    private static final String PIECE_IMAGE_PATH = "art/pieces/plain/";
+    private static final String MISC_IMAGE_PATH = "art/misc/";
+
+    // A path that failed to load maps to an empty image, so it is read and reported only once
+    private static final Map<String, Optional<BufferedImage>> IMAGES = new ConcurrentHashMap<>();
+    private static final Map<String, BufferedImage> SCALED_IMAGES = new ConcurrentHashMap<>();
+    private static final Map<String, ImageIcon> ICONS = new ConcurrentHashMap<>();
+
+    private ImageCache()
+    {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    static BufferedImage getPieceImage(final Piece piece)
+    {
+        return getImage(piecePath(piece));
+    }
+
+    static BufferedImage getPieceImage(final Piece piece, final int size)
+    {
+        return getScaledImage(piecePath(piece), size);
+    }
+
+    static ImageIcon getPieceIcon(final Piece piece)
+    {
+        return getIcon(piecePath(piece));
+    }
+
+    static BufferedImage getOverlayImage(final String name, final int size)
+    {
+        return getScaledImage(MISC_IMAGE_PATH + name + ".png", size);
+    }
+
+    static ImageIcon getOverlayIcon(final String name)
+    {
+        return getIcon(MISC_IMAGE_PATH + name + ".png");
+    }
+
+    private static String piecePath(final Piece piece)
+    {
+        return PIECE_IMAGE_PATH + piece.getPieceAlliance().toString().substring(0, 1) + piece + ".gif";
+    }
+
+    private static ImageIcon getIcon(final String path)
+    {
+        final BufferedImage image = getImage(path);
+        return image != null ? ICONS.computeIfAbsent(path, p -> new ImageIcon(image)) : null;
+    }
+
+    private static BufferedImage getImage(final String path)
+    {
+        return IMAGES.computeIfAbsent(path, ImageCache::load).orElse(null);
+    }
+
+    private static BufferedImage getScaledImage(final String path, final int size)
+    {
+        final BufferedImage image = getImage(path);
+        if (image == null || size <= 0)
+        {
+            return null;
+        }
+        return SCALED_IMAGES.computeIfAbsent(path + "@" + size, p -> scale(image, size));
+    }
+
+    // Fits the image into a size x size square, keeping its aspect ratio
+    private static BufferedImage scale(final BufferedImage image, final int size)
+    {
+        final double factor = Math.min((double) size / image.getWidth(), (double) size / image.getHeight());
+        final int width = Math.max(1, (int) Math.round(image.getWidth() * factor));
+        final int height = Math.max(1, (int) Math.round(image.getHeight() * factor));
+        final BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        return scaled;
+    }
+
+    // A missing image is reported and cached as empty, so it is not drawn
+    private static Optional<BufferedImage> load(final String path)
+    {
+        try
+        {
+            final URL resource = ImageCache.class.getClassLoader().getResource(path);
+            return Optional.ofNullable(resource != null ? ImageIO.read(resource) : ImageIO.read(new File(path)));
+        }
+        catch (final IOException e)
+        {
+            e.printStackTrace();
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.chess.gui;
+
+import com.chess.engine.board.Move;
+import com.chess.engine.player.ai.SearchResult;
+
+import javax.swing.*;
+import javax.swing.border.EtchedBorder;
+import java.awt.*;
+import java.awt.event.ActionListener;
+
+// Shows the progress of the computer's search and lets the user cut it short: "Move Now"
+// plays the best move found so far, "Cancel" abandons the search without moving.
+public class SearchStatusPanel extends JPanel
+{
+    private final JLabel statusLabel;
+    private final JLabel principalVariationLabel;
+    private final JButton moveNowButton;
+    private final JButton cancelButton;
+
+    private static final EtchedBorder PANEL_BORDER = new EtchedBorder(EtchedBorder.RAISED);
+    private static final Dimension STATUS_PANEL_DIMENSION = new Dimension(600, 50);
+
+    SearchStatusPanel(final ActionListener moveNowListener,
+                      final ActionListener cancelListener)
+    {
+        super(new BorderLayout());
+        setBorder(PANEL_BORDER);
+        this.statusLabel = new JLabel(" ");
+        this.principalVariationLabel = new JLabel(" ");
+        this.moveNowButton = new JButton("Move Now");
+        this.cancelButton = new JButton("Cancel");
+        this.moveNowButton.addActionListener(moveNowListener);
+        this.cancelButton.addActionListener(cancelListener);
+
+        final JPanel labelPanel = new JPanel(new GridLayout(2, 1));
+        labelPanel.add(this.statusLabel);
+        labelPanel.add(this.principalVariationLabel);
+        final JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttonPanel.add(this.moveNowButton);
+        buttonPanel.add(this.cancelButton);
+        add(labelPanel, BorderLayout.CENTER);
+        add(buttonPanel, BorderLayout.EAST);
+        setPreferredSize(STATUS_PANEL_DIMENSION);
+        setSearching(false);
+    }
+
+    void setSearching(final boolean searching)
+    {
+        this.moveNowButton.setEnabled(searching);
+        this.cancelButton.setEnabled(searching);
+        if (searching)
+        {
+            this.statusLabel.setText("Thinking...");
+            this.principalVariationLabel.setText(" ");
+        }
+    }
+
+    void update(final SearchResult result)
+    {
+        this.statusLabel.setText("Depth " + result.getDepth() +
+                                 "   Score " + scoreText(result) +
+                                 "   " + result.getNodesPerSecond() + " nodes/s");
+        final StringBuilder principalVariation = new StringBuilder();
+        for (final Move move : result.getPrincipalVariation())
+        {
+            principalVariation.append(move).append(' ');
+        }
+        this.principalVariationLabel.setText(principalVariation.toString());
+    }
+
+    void showMessage(final String message)
+    {
+        this.statusLabel.setText(message);
+        this.principalVariationLabel.setText(" ");
+    }
+
+    // Pawns from the point of view of the side to move, or moves to mate
+    private static String scoreText(final SearchResult result)
+    {
+        if (result.isMateScore())
+        {
+            return "mate " + result.getMateDistance();
+        }
+        return String.format("%+.2f", result.getScore() / 100.0);
+    }
+}
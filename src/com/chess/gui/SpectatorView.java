@@ -0,0 +1,231 @@
+package com.chess.gui;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.GameState;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.SearchParameters;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import com.chess.engine.player.ai.TranspositionTable;
+import com.google.common.collect.Iterables;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Collection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Shows many games at once in a grid. Engine threads hand in positions from any thread at
+// any rate; a single Swing timer picks up the latest position of every game on each tick and
+// lets each BoardView repaint the squares that changed, so the cost of a frame depends on
+// how much moved rather than on how many boards are shown or how often they are updated.
+public class SpectatorView extends JPanel
+{
+    private static final int REFRESH_INTERVAL_MILLIS = 100;
+    private static final Dimension BOARD_DIMENSION = new Dimension(160, 160);
+    private static final int MAX_PLIES = 200;
+    private static final int RANDOM_OPENING_PLIES = 4;
+    private static final int SPECTATOR_HASH_SIZE_MB = 1;
+    private static final long GAME_OVER_PAUSE_MILLIS = 3000;
+
+    private final BoardView[] boardViews;
+    private final JLabel[] captions;
+    private final AtomicReferenceArray<GameUpdate> pendingUpdates;
+    private final Timer repaintTimer;
+
+    public SpectatorView(final int gameCount)
+    {
+        super(new GridLayout(0, (int) Math.ceil(Math.sqrt(gameCount)), 4, 4));
+        this.boardViews = new BoardView[gameCount];
+        this.captions = new JLabel[gameCount];
+        this.pendingUpdates = new AtomicReferenceArray<>(gameCount);
+        for (int i = 0; i < gameCount; i++)
+        {
+            this.boardViews[i] = new BoardView();
+            this.boardViews[i].setPreferredSize(BOARD_DIMENSION);
+            this.captions[i] = new JLabel("Game " + (i + 1));
+            final JPanel cell = new JPanel(new BorderLayout());
+            cell.add(this.captions[i], BorderLayout.NORTH);
+            cell.add(this.boardViews[i], BorderLayout.CENTER);
+            add(cell);
+        }
+        this.repaintTimer = new Timer(REFRESH_INTERVAL_MILLIS, e -> applyUpdates());
+        this.repaintTimer.setCoalesce(true);
+    }
+
+    public int getGameCount()
+    {
+        return this.boardViews.length;
+    }
+
+    public void start()
+    {
+        this.repaintTimer.start();
+    }
+
+    public void stop()
+    {
+        this.repaintTimer.stop();
+    }
+
+    // Safe to call from any thread; updates that arrive between two ticks replace each other
+    public void updateGame(final int game, final Board board, final String caption)
+    {
+        this.pendingUpdates.set(game, new GameUpdate(board, caption));
+    }
+
+    private void applyUpdates()
+    {
+        for (int i = 0; i < this.boardViews.length; i++)
+        {
+            final GameUpdate update = this.pendingUpdates.getAndSet(i, null);
+            if (update != null)
+            {
+                this.boardViews[i].setBoard(update.board);
+                if (!update.caption.equals(this.captions[i].getText()))
+                {
+                    this.captions[i].setText(update.caption);
+                }
+            }
+        }
+    }
+
+    private static final class GameUpdate
+    {
+        private final Board board;
+        private final String caption;
+
+        private GameUpdate(final Board board, final String caption)
+        {
+            this.board = board;
+            this.caption = caption;
+        }
+    }
+
+    // Plays engine against engine on every board until the window is closed:
+    // SpectatorView [games] [search depth]
+    public static void main(final String[] args)
+    {
+        final int gameCount = args.length > 0 ? Integer.parseInt(args[0]) : 49;
+        final int searchDepth = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        final SpectatorView spectatorView = new SpectatorView(gameCount);
+        SwingUtilities.invokeLater(() -> {
+            final JFrame frame = new JFrame("JChess spectator");
+            frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+            frame.add(new JScrollPane(spectatorView));
+            frame.pack();
+            frame.setVisible(true);
+            spectatorView.start();
+        });
+
+        // Every task plays a single move and queues itself again, so a small pool takes turns
+        // over all games instead of the first few games keeping every thread to themselves
+        final ScheduledExecutorService executor =
+                Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors());
+        for (int i = 0; i < gameCount; i++)
+        {
+            executor.execute(new SpectatorGame(spectatorView, executor, i, searchDepth));
+        }
+    }
+
+    private static final class SpectatorGame implements Runnable
+    {
+        private final SpectatorView spectatorView;
+        private final ScheduledExecutorService executor;
+        private final int game;
+        private final AlphaBeta engine;
+        private int gameNumber;
+        private Board board;
+        private int ply;
+
+        private SpectatorGame(final SpectatorView spectatorView,
+                              final ScheduledExecutorService executor,
+                              final int game,
+                              final int searchDepth)
+        {
+            this.spectatorView = spectatorView;
+            this.executor = executor;
+            this.game = game;
+            this.engine = new AlphaBeta(searchDepth, new StandardBoardEvaluator(), SearchParameters.DEFAULT,
+                    new TranspositionTable(SPECTATOR_HASH_SIZE_MB));
+            this.gameNumber = 0;
+            this.board = null;
+        }
+
+        @Override
+        public void run()
+        {
+            if (this.board == null)
+            {
+                newGame();
+            }
+            else if (!playMove())
+            {
+                // Leave the final position on screen for a while before starting over
+                this.board = null;
+                this.executor.schedule(this, GAME_OVER_PAUSE_MILLIS, TimeUnit.MILLISECONDS);
+                return;
+            }
+            this.executor.execute(this);
+        }
+
+        private void newGame()
+        {
+            this.engine.clear();
+            this.board = Board.createStandardBoard();
+            this.ply = 0;
+            this.gameNumber++;
+            update("new game");
+        }
+
+        // Returns false once the game is over
+        private boolean playMove()
+        {
+            final String result = result();
+            if (result != null)
+            {
+                update(result);
+                return false;
+            }
+            // A few random opening moves so the boards do not all play the same game
+            final Move move = this.ply < RANDOM_OPENING_PLIES ? randomMove(this.board) : this.engine.execute(this.board);
+            this.board = this.board.currentPlayer().makeMove(move).getTransitionBoard();
+            this.ply++;
+            update(move.toString());
+            return true;
+        }
+
+        private String result()
+        {
+            final GameState gameState = this.board.getGameState();
+            if (gameState == GameState.CHECKMATE)
+            {
+                return this.board.currentPlayer().getOpponent().getAlliance() + " wins";
+            }
+            if (gameState.isDraw())
+            {
+                return "draw (" + gameState.toString().toLowerCase().replace('_', ' ') + ")";
+            }
+            if (this.ply >= MAX_PLIES)
+            {
+                return "draw by move limit";
+            }
+            return null;
+        }
+
+        private void update(final String status)
+        {
+            this.spectatorView.updateGame(this.game, this.board,
+                    "Game " + (this.game + 1) + "." + this.gameNumber + "  " + status);
+        }
+    }
+
+    private static Move randomMove(final Board board)
+    {
+        final Collection<Move> legalMoves = board.currentPlayer().getLegalMoves();
+        return Iterables.get(legalMoves, ThreadLocalRandom.current().nextInt(legalMoves.size()));
+    }
+}
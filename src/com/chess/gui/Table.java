@@ -2,24 +2,23 @@ package com.chess.gui;
 
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.GameState;
 import com.chess.engine.board.Move;
 import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.MoveTransition;
-import com.chess.engine.player.ai.MiniMax;
-import com.chess.engine.player.ai.MoveStrategy;
-import com.google.common.collect.Lists;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.SearchListener;
+import com.chess.engine.player.ai.SearchResult;
+import com.chess.engine.player.ai.StaticExchangeEvaluator;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 import java.util.*;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
@@ -33,8 +32,12 @@ public class Table extends Observable
     private final BoardPanel boardPanel;
     private final GameHistoryPanel gameHistoryPanel;
     private final TakenPiecesPanel takenPiecesPanel;
+    private final SearchStatusPanel searchStatusPanel;
     private final MoveLog moveLog;
     private final GameSetup gameSetup;
+    private final AlphaBeta engine;
+    private PonderTask ponderTask;
+    private AIThinkTank thinkTank;
     private Move computerMove;
     private Tile sourceTile;
     private Tile destinationTile;
@@ -46,11 +49,7 @@ public class Table extends Observable
 
     private final static Dimension OUTER_FRAME_DIMENSION = new Dimension(600,600);
     private final static Dimension BOARD_PANEL_DIMENSION = new Dimension(400,350);
-    private final static Dimension TILE_PANEL_DIMENSION = new Dimension(10,10);
-    private static String defaultPieceImagePath = "art/pieces/plain/";
-
-    private final Color lightTileColor = Color.decode("#FACDFF");
-    private final Color darkTileColor = Color.decode("#D663e6");
+    private final static int AI_SEARCH_DEPTH = 4;
 
     private static final Table INSTANCE = new Table();
 
@@ -65,7 +64,10 @@ public class Table extends Observable
         this.gameHistoryPanel = new GameHistoryPanel();
         this.takenPiecesPanel = new TakenPiecesPanel();
         this.boardPanel = new BoardPanel();
+        this.searchStatusPanel = new SearchStatusPanel(e -> moveNow(), e -> cancelSearch());
         this.moveLog = new MoveLog();
+        // One engine for the whole game so its transposition table and history survive between moves
+        this.engine = new AlphaBeta(AI_SEARCH_DEPTH);
         this.addObserver(new TableGameAIWatcher());
         this.gameSetup = new GameSetup(this.gameFrame, true);
         this.boardDirection = BoardDirection.NORMAL;
@@ -73,6 +75,7 @@ public class Table extends Observable
         this.gameFrame.add(this.takenPiecesPanel, BorderLayout.WEST);
         this.gameFrame.add(this.gameHistoryPanel, BorderLayout.EAST);
         this.gameFrame.add(this.boardPanel, BorderLayout.CENTER);
+        this.gameFrame.add(this.searchStatusPanel, BorderLayout.SOUTH);
         this.gameFrame.setVisible(true);
 
     }
@@ -179,6 +182,8 @@ public class Table extends Observable
 
     private void setupUpdate(final GameSetup gameSetup)
     {
+        stopPondering();
+        cancelSearch();
         setChanged();
         notifyObservers(gameSetup);
     }
@@ -187,22 +192,35 @@ public class Table extends Observable
         @Override
         public void update (final Observable o, final Object arg)
         {
-            if(Table.get().getGameSetup().isAIPlayer(Table.get().getGameBoard().currentPlayer()) &&
-            !Table.get().getGameBoard().currentPlayer().isInCheckMate() &&
-            !Table.get().getGameBoard().currentPlayer().isInStaleMate())
+            final Board board = Table.get().getGameBoard();
+            final GameState gameState = board.getGameState();
+            if(Table.get().getGameSetup().isAIPlayer(board.currentPlayer()) && !gameState.isGameOver())
             {
-                final AIThinkTank thinkTank = new AIThinkTank();
-                thinkTank.execute();
+                Table.get().startThinking(new AIThinkTank(Table.get().takePonderTask()));
             }
 
-            if (Table.get().getGameBoard().currentPlayer().isInCheckMate())
+            if (gameState.isGameOver())
             {
-                System.out.println("game over, " + Table.get().getGameBoard().currentPlayer() + " is in Checkmate!");
+                Table.get().getSearchStatusPanel().showMessage("Game over, " + gameOverText(board, gameState));
             }
+        }
 
-            if (Table.get().getGameBoard().currentPlayer().isInStaleMate())
+        private static String gameOverText(final Board board, final GameState gameState)
+        {
+            switch (gameState)
             {
-                System.out.println("game over, " + Table.get().getGameBoard().currentPlayer() + " is in stalemate!");
+                case CHECKMATE:
+                    return board.currentPlayer().getAlliance() + " is in checkmate!";
+                case STALEMATE:
+                    return board.currentPlayer().getAlliance() + " is in stalemate!";
+                case INSUFFICIENT_MATERIAL:
+                    return "draw by insufficient material";
+                case REPETITION:
+                    return "draw by threefold repetition";
+                case FIFTY_MOVE:
+                    return "draw by the fifty-move rule";
+                default:
+                    return gameState.toString();
             }
         }
     }
@@ -237,181 +255,256 @@ public class Table extends Observable
         return this.boardPanel;
     }
 
+    private SearchStatusPanel getSearchStatusPanel()
+    {
+        return this.searchStatusPanel;
+    }
+
     private void moveMadeUpdate (final PlayerType playerType)
     {
         setChanged();
         notifyObservers();
     }
 
-    private static class AIThinkTank extends SwingWorker<Move, String>
+    private AlphaBeta getEngine()
     {
-        private AIThinkTank()
-        {
+        return this.engine;
+    }
 
-        }
+    private void startThinking(final AIThinkTank thinkTank)
+    {
+        this.thinkTank = thinkTank;
+        this.searchStatusPanel.setSearching(true);
+        thinkTank.execute();
+    }
 
-        @Override
-        protected Move doInBackground() throws Exception
+    private void finishThinking(final AIThinkTank thinkTank)
+    {
+        if (this.thinkTank == thinkTank)
         {
-            final MoveStrategy miniMax = new MiniMax(4);
-
-            final Move bestMove = miniMax.execute(Table.get().getGameBoard());
-
-            return bestMove;
+            this.thinkTank = null;
+            this.searchStatusPanel.setSearching(false);
         }
+    }
 
-        @Override
-        public void done()
+    private void moveNow()
+    {
+        if (this.thinkTank != null)
         {
-            try {
-                final Move bestMove = get();
-
-                Table.get().updateComputerMove(bestMove);
-                Table.get().updateGameBoard(Table.get().getGameBoard().currentPlayer().makeMove(bestMove).getTransitionBoard());
-                Table.get().getMoveLog().addMove(bestMove);
-                Table.get().getGameHistoryPanel().redo(Table.get().getGameBoard(), Table.get().getMoveLog());
-                Table.get().getTakenPiecesPanel().redo(Table.get().getMoveLog());
-                Table.get().getBoardPanel().drawBoard(Table.get().getGameBoard());
-                Table.get().moveMadeUpdate(PlayerType.COMPUTER);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            } catch (ExecutionException e) {
-                e.printStackTrace();
-            }
+            this.thinkTank.moveNow();
         }
     }
 
-    private class BoardPanel extends JPanel
+    private void cancelSearch()
     {
-        final List<TilePanel> boardTiles;
-
-        BoardPanel(){
-            super(new GridLayout(8,8));
-            this.boardTiles = new ArrayList<>();
-            for (int i = 0; i < BoardUtils.NUM_TILES; i++)
-            {
-                final TilePanel tilePanel = new TilePanel(this,i);
-                this.boardTiles.add(tilePanel);
-                add(tilePanel);
-            }
-            setPreferredSize(BOARD_PANEL_DIMENSION);
-            validate();
+        if (this.thinkTank != null)
+        {
+            this.thinkTank.cancelSearch();
+            finishThinking(this.thinkTank);
+            this.searchStatusPanel.showMessage("Search cancelled");
         }
+    }
 
-        public void drawBoard(final Board board)
+    // While the human thinks, search the position after the reply the engine expects
+    private void startPondering(final SearchResult result)
+    {
+        final List<Move> principalVariation = result.getPrincipalVariation();
+        if (principalVariation.size() < 2 || this.gameSetup.isAIPlayer(this.chessBoard.currentPlayer()))
         {
-            removeAll();
-            for (final TilePanel tilePanel: boardDirection.traverse(boardTiles))
-            {
-                tilePanel.drawTile(board);
-                add(tilePanel);
-            }
-            validate();
-            repaint();
+            return;
+        }
+        final Move expectedMove = principalVariation.get(1);
+        final Move move = Move.MoveFactory.createMove(this.chessBoard,
+                expectedMove.getCurrentCoordinate(), expectedMove.getDestinationCoordinate());
+        final MoveTransition transition = this.chessBoard.currentPlayer().makeMove(move);
+        if (transition.getMoveStatus().isDone())
+        {
+            this.ponderTask = new PonderTask(transition.getTransitionBoard());
+            this.ponderTask.execute();
         }
     }
 
-    public enum BoardDirection
+    private PonderTask takePonderTask()
     {
-        NORMAL {
-            @Override
-            List<TilePanel> traverse (final List<TilePanel> boardTiles)
-            {
-                return boardTiles;
-            }
+        final PonderTask task = this.ponderTask;
+        this.ponderTask = null;
+        return task;
+    }
 
-            @Override
-            BoardDirection opposite() {
-                return FLIPPED;
-            }
+    private void stopPondering()
+    {
+        final PonderTask task = takePonderTask();
+        if (task != null)
+        {
+            task.stopPondering();
+        }
+    }
 
+    private static class PonderTask extends SwingWorker<SearchResult, Void>
+    {
+        private final Board ponderedBoard;
+        private final SearchLimits limits;
 
-        } ,
+        private PonderTask(final Board ponderedBoard)
+        {
+            this.ponderedBoard = ponderedBoard;
+            this.limits = new SearchLimits(AI_SEARCH_DEPTH, SearchLimits.NO_TIME_LIMIT, true);
+        }
 
-        FLIPPED {
-            @Override
-            List<TilePanel> traverse(final List<TilePanel> boardTiles)
-            {
-                return Lists.reverse(boardTiles);
-            }
+        @Override
+        protected SearchResult doInBackground()
+        {
+            return Table.get().getEngine().search(this.ponderedBoard, this.limits);
+        }
 
-            @Override
-            BoardDirection opposite()
-            {
-                return NORMAL;
-            }
-        };
-        abstract List<TilePanel> traverse (final List<TilePanel> boardTiles);
-        BoardDirection opposite;
+        private boolean isPonderHit(final Board board)
+        {
+            return board.getZobristHash() == this.ponderedBoard.getZobristHash();
+        }
 
-        BoardDirection opposite()
+        private SearchLimits getLimits()
         {
-            return FLIPPED;
+            return this.limits;
+        }
+
+        private void stopPondering()
+        {
+            this.limits.stop();
         }
     }
 
+    // Searches in the background, publishing every completed iteration to the status panel.
+    // On a ponder hit the running ponder search becomes this search; otherwise it is thrown away.
+    private static class AIThinkTank extends SwingWorker<SearchResult, SearchResult>
+    {
+        private final PonderTask ponderTask;
+        private final SearchListener progressListener;
+        private volatile SearchLimits limits;
+        private volatile boolean stopRequested;
+        private volatile boolean cancelled;
 
-    public static class MoveLog {
-        private final List<Move> moves;
-        MoveLog()
+        private AIThinkTank(final PonderTask ponderTask)
         {
-            this.moves = new ArrayList<>();
+            this.ponderTask = ponderTask;
+            this.progressListener = this::publish;
         }
 
-        public List<Move> getMoves()
+        @Override
+        protected SearchResult doInBackground() throws Exception
         {
-            return this.moves;
+            final Board board = Table.get().getGameBoard();
+            final AlphaBeta engine = Table.get().getEngine();
+            engine.addSearchListener(this.progressListener);
+            try
+            {
+                if (this.ponderTask != null)
+                {
+                    if (this.ponderTask.isPonderHit(board))
+                    {
+                        useLimits(this.ponderTask.getLimits());
+                        this.limits.ponderHit();
+                        final SearchResult ponderResult = this.ponderTask.get();
+                        if (ponderResult.getBestMove() != null)
+                        {
+                            return ponderResult;
+                        }
+                    }
+                    else
+                    {
+                        this.ponderTask.stopPondering();
+                        this.ponderTask.get();
+                    }
+                }
+                useLimits(new SearchLimits(AI_SEARCH_DEPTH));
+                return engine.search(board, this.limits);
+            }
+            finally
+            {
+                engine.removeSearchListener(this.progressListener);
+            }
         }
 
-        public void addMove(final Move move)
+        // A stop that arrived before the search had its limits still applies to it
+        private void useLimits(final SearchLimits searchLimits)
         {
-            this.moves.add(move);
+            this.limits = searchLimits;
+            if (this.stopRequested)
+            {
+                searchLimits.stop();
+            }
         }
 
-        public int size()
+        private void moveNow()
         {
-            return this.moves.size();
+            this.stopRequested = true;
+            final SearchLimits searchLimits = this.limits;
+            if (searchLimits != null)
+            {
+                searchLimits.stop();
+            }
         }
 
-        public void clear()
+        private void cancelSearch()
         {
-            this.moves.clear();
+            this.cancelled = true;
+            moveNow();
         }
 
-        public Move removeMove(int index)
+        @Override
+        protected void process(final List<SearchResult> results)
         {
-            return this.moves.remove(index);
+            if (!this.cancelled)
+            {
+                Table.get().getSearchStatusPanel().update(results.get(results.size() - 1));
+            }
         }
 
-        public boolean removeMove(final Move move)
+        @Override
+        public void done()
         {
-            return this.moves.remove(move);
-        }
-    }
+            Table.get().finishThinking(this);
+            if (this.cancelled)
+            {
+                return;
+            }
+            try {
+                final SearchResult result = get();
+                final Move bestMove = result.getBestMove();
+                if (bestMove == null)
+                {
+                    return;
+                }
 
-    enum PlayerType{
-        HUMAN,
-        COMPUTER
+                Table.get().updateComputerMove(bestMove);
+                Table.get().updateGameBoard(Table.get().getGameBoard().currentPlayer().makeMove(bestMove).getTransitionBoard());
+                Table.get().getMoveLog().addMove(bestMove);
+                Table.get().getGameHistoryPanel().update(Table.get().getGameBoard(), Table.get().getMoveLog());
+                Table.get().getTakenPiecesPanel().update(Table.get().getMoveLog());
+                Table.get().getBoardPanel().drawBoard(Table.get().getGameBoard());
+                Table.get().moveMadeUpdate(PlayerType.COMPUTER);
+                Table.get().startPondering(result);
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            } catch (ExecutionException e) {
+                e.printStackTrace();
+            }
+        }
     }
 
-
-    private class  TilePanel extends JPanel
+    private class BoardPanel extends BoardView
     {
-        private final int tileId;
-
-        TilePanel(final BoardPanel boardPanel, final int tileId)
-        {
-            super(new GridLayout());
-            this.tileId = tileId;
-            setPreferredSize(TILE_PANEL_DIMENSION);
-            assignTileColor();
-            assignTilePieceIcon(chessBoard);
-
+        BoardPanel(){
+            setPreferredSize(BOARD_PANEL_DIMENSION);
             addMouseListener(new MouseListener()
             {
                 @Override
                 public void mouseClicked(final MouseEvent e)
                 {
+                    final int tileId = squareAt(e.getPoint());
+                    if (tileId < 0)
+                    {
+                        return;
+                    }
                     // If the user selects the current tile (left click)
                     if (isLeftMouseButton(e))
                     {
@@ -463,8 +556,8 @@ public class Table extends Observable
                         SwingUtilities.invokeLater(() -> {
 
                             // Re-draw the game history with updated board and move log
-                            gameHistoryPanel.redo(chessBoard, moveLog);
-                            takenPiecesPanel.redo(moveLog);
+                            gameHistoryPanel.update(chessBoard, moveLog);
+                            takenPiecesPanel.update(moveLog);
 
                             // If the current player is an AI player
                             if (gameSetup.isAIPlayer(chessBoard.currentPlayer()))
@@ -523,50 +616,29 @@ public class Table extends Observable
 
                 }
             });
-
-            validate();
         }
 
-        public void drawTile ( final Board board)
+        // Only squares whose piece or highlight changed are repainted
+        public void drawBoard(final Board board)
         {
-            assignTileColor();
-            assignTilePieceIcon(board);
-            highlightLegals(board);
-            validate();
-            repaint();
-        }
-        private void assignTilePieceIcon(final Board board) {
-            this.removeAll();
-            if(board.getTile(this.tileId).isTileOccupied())
-            {
-                try{
-                    String filePath = defaultPieceImagePath +
-                            board.getTile(this.tileId).getPiece().getPieceAlliance().toString().substring(0,1) +
-                            board.getTile(this.tileId).getPiece().toString() + ".gif";
-                final BufferedImage image = ImageIO.read(new File(filePath));
-                add(new JLabel(new ImageIcon(image)));}
-                catch (IOException e)
-                {
-                    e.printStackTrace();
-                }
-            }
+            setFlipped(boardDirection.isFlipped());
+            setBoard(board);
+            setOverlays(highlightLegals(board));
         }
 
-        private void highlightLegals (final Board board)
+        private String[] highlightLegals (final Board board)
         {
+            final String[] overlays = new String[BoardUtils.NUM_TILES];
             if (highlightLegalMoves)
-            { for (final Move move: pieceLegalMoves(board))
-                { if (move.getDestinationCoordinate() == this.tileId)
-                    {
-                        try {
-                            add (new JLabel( new ImageIcon(ImageIO.read(new File("art/misc/green_dot.png")))));
-                        } catch (Exception e)
-                        {
-                            e.printStackTrace();
-                        }
-                    }
+            {
+                for (final Move move: pieceLegalMoves(board))
+                {
+                    // Mark destinations where the piece would be lost in the exchange
+                    overlays[move.getDestinationCoordinate()] = StaticExchangeEvaluator.evaluate(move) < 0 ?
+                            ImageCache.RED_DOT : ImageCache.GREEN_DOT;
                 }
             }
+            return overlays;
         }
 
         private Collection<Move> pieceLegalMoves (final Board board)
@@ -577,26 +649,89 @@ public class Table extends Observable
             }
             return Collections.emptyList();
         }
+    }
+
+    public enum BoardDirection
+    {
+        NORMAL {
+            @Override
+            boolean isFlipped ()
+            {
+                return false;
+            }
 
+            @Override
+            BoardDirection opposite() {
+                return FLIPPED;
+            }
 
-        private void assignTileColor()
-        {
-            if(BoardUtils.FIRST_ROW[this.tileId] ||
-                BoardUtils.THIRD_ROW[this.tileId]||
-                BoardUtils.SEVENTH_ROW[this.tileId] ||
-                BoardUtils.FIFTH_ROW[this.tileId])
+
+        } ,
+
+        FLIPPED {
+            @Override
+            boolean isFlipped()
             {
-                setBackground(this.tileId % 2 == 0 ? lightTileColor : darkTileColor);
+                return true;
             }
-            else if (BoardUtils.SECOND_ROW[this.tileId] ||
-                    BoardUtils.FOURTH_ROW[this.tileId]||
-                    BoardUtils.SIXTH_ROW[this.tileId] ||
-                    BoardUtils.EIGHTH_ROW[this.tileId])
+
+            @Override
+            BoardDirection opposite()
             {
-                setBackground(this.tileId % 2 != 0 ? lightTileColor : darkTileColor);
+                return NORMAL;
             }
+        };
+        abstract boolean isFlipped ();
+        BoardDirection opposite;
+
+        BoardDirection opposite()
+        {
+            return FLIPPED;
+        }
+    }
+
+
+    public static class MoveLog {
+        private final List<Move> moves;
+        MoveLog()
+        {
+            this.moves = new ArrayList<>();
+        }
+
+        public List<Move> getMoves()
+        {
+            return this.moves;
+        }
 
+        public void addMove(final Move move)
+        {
+            this.moves.add(move);
         }
+
+        public int size()
+        {
+            return this.moves.size();
+        }
+
+        public void clear()
+        {
+            this.moves.clear();
+        }
+
+        public Move removeMove(int index)
+        {
+            return this.moves.remove(index);
+        }
+
+        public boolean removeMove(final Move move)
+        {
+            return this.moves.remove(move);
+        }
+    }
+
+    enum PlayerType{
+        HUMAN,
+        COMPUTER
     }
 
 }
@@ -5,13 +5,9 @@ import com.chess.engine.pieces.Piece;
 import com.chess.engine.pieces.Piece.PieceType;
 import com.google.common.primitives.Ints;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.EtchedBorder;
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 import java.util.*;
 import java.util.List;
 
@@ -20,10 +16,20 @@ public class TakenPiecesPanel extends JPanel
 {
     private final JPanel northPanel;
     private final JPanel southPanel;
+    private final List<Piece> whiteTakenPieces;
+    private final List<Piece> blackTakenPieces;
+    private int shownMoves;
+    private Move lastShownMove;
 
     private static final EtchedBorder PANEL_BORDER = new EtchedBorder(EtchedBorder.RAISED);
     private static final Color PANEL_COLOR = Color.decode("0xFDFE6");
     private static final Dimension TAKEN_PIECES_DIMENSION = new Dimension(40,80);
+    private static final Comparator<Piece> PIECE_VALUE_ORDER = new Comparator<Piece>() {
+        @Override
+        public int compare(Piece o1, Piece o2) {
+            return Ints.compare(o1.getPieceValue(), o2.getPieceValue());
+        }
+    };
 
     public TakenPiecesPanel()
     {
@@ -32,6 +38,8 @@ public class TakenPiecesPanel extends JPanel
         setBorder(PANEL_BORDER);
         this.northPanel = new JPanel(new GridLayout(8,2));
         this.southPanel = new JPanel(new GridLayout(8,2));
+        this.whiteTakenPieces = new ArrayList<>();
+        this.blackTakenPieces = new ArrayList<>();
         this.northPanel.setBackground(PANEL_COLOR);
         this.southPanel.setBackground(PANEL_COLOR);
         this.add(this.northPanel, BorderLayout.NORTH);
@@ -39,13 +47,13 @@ public class TakenPiecesPanel extends JPanel
         setPreferredSize(TAKEN_PIECES_DIMENSION);
     }
 
+    // Rebuilds both columns from the whole log
     public void redo(final Table.MoveLog moveLog)
     {
         this.southPanel.removeAll();
         this.northPanel.removeAll();
-
-        final List<Piece> whiteTakenPieces = new ArrayList<>();
-        final List<Piece> blackTakenPieces = new ArrayList<>();
+        this.whiteTakenPieces.clear();
+        this.blackTakenPieces.clear();
 
         for (final Move move: moveLog.getMoves())
         {
@@ -53,55 +61,77 @@ public class TakenPiecesPanel extends JPanel
             {
                 final Piece takenPiece = move.getAttackedPiece();
                 if(takenPiece.getPieceAlliance().isWhite()){
-                    whiteTakenPieces.add(takenPiece);
+                    this.whiteTakenPieces.add(takenPiece);
                 } else if (takenPiece.getPieceAlliance().isBlack())
                 {
-                    blackTakenPieces.add(takenPiece);
+                    this.blackTakenPieces.add(takenPiece);
                 } else {
                     throw new RuntimeException("should not reach here");
                 }
             }
         }
-        Collections.sort(whiteTakenPieces, new Comparator<Piece>() {
-            @Override
-            public int compare(Piece o1, Piece o2) {
-                return Ints.compare(o1.getPieceValue(), o2.getPieceValue());
-            }
-        });
+        Collections.sort(this.whiteTakenPieces, PIECE_VALUE_ORDER);
+        Collections.sort(this.blackTakenPieces, PIECE_VALUE_ORDER);
 
-        Collections.sort(blackTakenPieces, new Comparator<Piece>() {
-            @Override
-            public int compare(Piece o1, Piece o2) {
-                return Ints.compare(o1.getPieceValue(), o2.getPieceValue());
-            }
-        });
-
-        for(final Piece takenPiece : whiteTakenPieces)
+        for(final Piece takenPiece : this.whiteTakenPieces)
         {
-            try {
-                String imagePath = "art/pieces/plain/" + takenPiece.getPieceAlliance().toString().substring(0,1) + takenPiece.toString() + ".gif";
-                final BufferedImage image = ImageIO.read(new File(imagePath));
-                final ImageIcon icon = new ImageIcon(image);
-                final JLabel imageLabel = new JLabel();
-                this.southPanel.add(imageLabel);
-            } catch (final IOException e) {
-                e.printStackTrace();
-            }
+            this.southPanel.add(new JLabel(ImageCache.getPieceIcon(takenPiece)));
         }
 
-        for(final Piece takenPiece : blackTakenPieces)
+        for(final Piece takenPiece : this.blackTakenPieces)
         {
-            try {
-                String imagePath = "art/pieces/plain/" + takenPiece.getPieceAlliance().toString().substring(0,1) + takenPiece.toString() + ".gif";
-                final BufferedImage image = ImageIO.read(new File(imagePath));
-                final ImageIcon icon = new ImageIcon(image);
-                final JLabel imageLabel = new JLabel();
-                this.southPanel.add(imageLabel);
-            } catch (final IOException e) {
-                e.printStackTrace();
-            }
+            this.northPanel.add(new JLabel(ImageCache.getPieceIcon(takenPiece)));
         }
 
+        remember(moveLog);
         validate();
+        repaint();
+    }
+
+    // Adds the piece taken by the latest move, or rebuilds if the log is not the shown one plus a move
+    public void update(final Table.MoveLog moveLog)
+    {
+        if (isShown(moveLog, moveLog.size()))
+        {
+            return;
+        }
+        if (!isShown(moveLog, moveLog.size() - 1))
+        {
+            redo(moveLog);
+            return;
+        }
+        final Move move = moveLog.getMoves().get(moveLog.size() - 1);
+        remember(moveLog);
+        if (!move.isAttack())
+        {
+            return;
+        }
+        final Piece takenPiece = move.getAttackedPiece();
+        final boolean white = takenPiece.getPieceAlliance().isWhite();
+        final List<Piece> takenPieces = white ? this.whiteTakenPieces : this.blackTakenPieces;
+        final JPanel panel = white ? this.southPanel : this.northPanel;
+        // After any pieces of the same value, as the stable sort of a rebuild would put it
+        int index = 0;
+        while (index < takenPieces.size() && PIECE_VALUE_ORDER.compare(takenPieces.get(index), takenPiece) <= 0)
+        {
+            index++;
+        }
+        takenPieces.add(index, takenPiece);
+        panel.add(new JLabel(ImageCache.getPieceIcon(takenPiece)), index);
+        panel.revalidate();
+        panel.repaint();
+    }
+
+    // Whether the first moveCount moves of the log are exactly the moves on display
+    private boolean isShown(final Table.MoveLog moveLog, final int moveCount)
+    {
+        return moveCount == this.shownMoves &&
+               (moveCount == 0 || moveLog.getMoves().get(moveCount - 1) == this.lastShownMove);
+    }
+
+    private void remember(final Table.MoveLog moveLog)
+    {
+        this.shownMoves = moveLog.size();
+        this.lastShownMove = this.shownMoves > 0 ? moveLog.getMoves().get(this.shownMoves - 1) : null;
     }
 }
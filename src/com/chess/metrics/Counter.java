@@ -0,0 +1,46 @@
+package com.chess.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// A count that only goes up, such as searches or nodes; Prometheus derives rates from it
+public final class Counter extends Metric
+{
+    private final LongAdder value;
+
+    Counter(final String name, final String help)
+    {
+        super(name, help);
+        this.value = new LongAdder();
+    }
+
+    public void increment()
+    {
+        this.value.increment();
+    }
+
+    public void add(final long amount)
+    {
+        if (amount < 0)
+        {
+            throw new IllegalArgumentException("A counter cannot decrease, got " + amount);
+        }
+        this.value.add(amount);
+    }
+
+    public long get()
+    {
+        return this.value.sum();
+    }
+
+    @Override
+    String getType()
+    {
+        return "counter";
+    }
+
+    @Override
+    void writeSamples(final StringBuilder out)
+    {
+        out.append(getName()).append(' ').append(get()).append('\n');
+    }
+}
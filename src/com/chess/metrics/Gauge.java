@@ -0,0 +1,27 @@
+package com.chess.metrics;
+
+import java.util.function.DoubleSupplier;
+
+// A value read at scrape time, such as the transposition table usage or the running threads
+final class Gauge extends Metric
+{
+    private final DoubleSupplier value;
+
+    Gauge(final String name, final String help, final DoubleSupplier value)
+    {
+        super(name, help);
+        this.value = value;
+    }
+
+    @Override
+    String getType()
+    {
+        return "gauge";
+    }
+
+    @Override
+    void writeSamples(final StringBuilder out)
+    {
+        out.append(getName()).append(' ').append(formatValue(this.value.getAsDouble())).append('\n');
+    }
+}
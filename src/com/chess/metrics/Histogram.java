@@ -0,0 +1,97 @@
+package com.chess.metrics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+// Observations counted into fixed buckets, one series per value of a single label, e.g. search
+// latency per time control. Buckets are upper bounds; the +Inf bucket is implied. Series are
+// created on first use, so the label should only take a handful of values.
+public final class Histogram extends Metric
+{
+    private final String labelName;
+    private final double[] bounds;
+    private final Map<String, Series> series;
+
+    Histogram(final String name, final String help, final String labelName, final double[] bounds)
+    {
+        super(name, help);
+        if (!labelName.matches("[a-zA-Z_][a-zA-Z0-9_]*") || labelName.equals("le"))
+        {
+            throw new IllegalArgumentException("Invalid label name: " + labelName);
+        }
+        final double[] sorted = bounds.clone();
+        Arrays.sort(sorted);
+        this.labelName = labelName;
+        this.bounds = sorted;
+        this.series = new ConcurrentSkipListMap<>();
+    }
+
+    public void observe(final String labelValue, final double value)
+    {
+        this.series.computeIfAbsent(labelValue, label -> new Series(this.bounds.length)).observe(this.bounds, value);
+    }
+
+    @Override
+    String getType()
+    {
+        return "histogram";
+    }
+
+    @Override
+    void writeSamples(final StringBuilder out)
+    {
+        for (final Map.Entry<String, Series> entry : this.series.entrySet())
+        {
+            final String label = this.labelName + "=\"" + escapeLabelValue(entry.getKey()) + "\"";
+            final Series series = entry.getValue();
+            // Read the count first so the cumulative buckets never exceed it
+            final long count = series.count.sum();
+            long cumulative = 0;
+            for (int i = 0; i < this.bounds.length; i++)
+            {
+                cumulative += series.buckets[i].sum();
+                out.append(getName()).append("_bucket{").append(label).append(",le=\"")
+                   .append(formatValue(this.bounds[i])).append("\"} ").append(Math.min(cumulative, count)).append('\n');
+            }
+            out.append(getName()).append("_bucket{").append(label).append(",le=\"+Inf\"} ").append(count).append('\n');
+            out.append(getName()).append("_sum{").append(label).append("} ")
+               .append(formatValue(series.sum.sum())).append('\n');
+            out.append(getName()).append("_count{").append(label).append("} ").append(count).append('\n');
+        }
+    }
+
+    private static final class Series
+    {
+        private final LongAdder[] buckets;
+        private final DoubleAdder sum;
+        private final LongAdder count;
+
+        Series(final int bucketCount)
+        {
+            this.buckets = new LongAdder[bucketCount];
+            for (int i = 0; i < bucketCount; i++)
+            {
+                this.buckets[i] = new LongAdder();
+            }
+            this.sum = new DoubleAdder();
+            this.count = new LongAdder();
+        }
+
+        void observe(final double[] bounds, final double value)
+        {
+            for (int i = 0; i < bounds.length; i++)
+            {
+                if (value <= bounds[i])
+                {
+                    this.buckets[i].increment();
+                    break;
+                }
+            }
+            this.sum.add(value);
+            this.count.increment();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.chess.metrics;
+
+// A named metric that writes itself in the Prometheus text exposition format
+abstract class Metric
+{
+    private final String name;
+    private final String help;
+
+    Metric(final String name, final String help)
+    {
+        if (!name.matches("[a-zA-Z_:][a-zA-Z0-9_:]*"))
+        {
+            throw new IllegalArgumentException("Invalid metric name: " + name);
+        }
+        this.name = name;
+        this.help = help;
+    }
+
+    String getName()
+    {
+        return this.name;
+    }
+
+    abstract String getType();
+
+    abstract void writeSamples(StringBuilder out);
+
+    void write(final StringBuilder out)
+    {
+        out.append("# HELP ").append(this.name).append(' ')
+           .append(this.help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        out.append("# TYPE ").append(this.name).append(' ').append(getType()).append('\n');
+        writeSamples(out);
+    }
+
+    static String formatValue(final double value)
+    {
+        if (Double.isNaN(value))
+        {
+            return "NaN";
+        }
+        if (Double.isInfinite(value))
+        {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15)
+        {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    static String escapeLabelValue(final String value)
+    {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
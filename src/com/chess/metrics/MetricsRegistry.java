@@ -0,0 +1,55 @@
+package com.chess.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+// The metrics of one process, written out in registration order in the Prometheus text
+// exposition format (version 0.0.4). Updating a counter or histogram never takes a lock, so
+// metrics can be recorded from search threads; only registering and scraping synchronise.
+public final class MetricsRegistry
+{
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final Map<String, Metric> metrics;
+
+    public MetricsRegistry()
+    {
+        this.metrics = new LinkedHashMap<>();
+    }
+
+    public Counter counter(final String name, final String help)
+    {
+        return register(new Counter(name, help));
+    }
+
+    public void gauge(final String name, final String help, final DoubleSupplier value)
+    {
+        register(new Gauge(name, help, value));
+    }
+
+    public Histogram histogram(final String name, final String help, final String labelName, final double... bounds)
+    {
+        return register(new Histogram(name, help, labelName, bounds));
+    }
+
+    private synchronized <T extends Metric> T register(final T metric)
+    {
+        if (this.metrics.containsKey(metric.getName()))
+        {
+            throw new IllegalArgumentException("Metric already registered: " + metric.getName());
+        }
+        this.metrics.put(metric.getName(), metric);
+        return metric;
+    }
+
+    public synchronized String scrape()
+    {
+        final StringBuilder out = new StringBuilder();
+        for (final Metric metric : this.metrics.values())
+        {
+            metric.write(out);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,100 @@
+package com.chess.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Serves a registry at /metrics for Prometheus to scrape, using the HTTP server that ships
+// with the JDK. Scrapes are answered one at a time on a daemon thread so the server never
+// keeps the process alive or competes with the search for more than one core.
+public final class MetricsServer
+{
+    private static final String PATH = "/metrics";
+
+    private final MetricsRegistry registry;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public MetricsServer(final MetricsRegistry registry, final InetSocketAddress address) throws IOException
+    {
+        this.registry = registry;
+        this.server = HttpServer.create(address, 0);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "Metrics server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server.createContext(PATH, this::handle);
+        this.server.setExecutor(this.executor);
+    }
+
+    // port or host:port; a bare port listens on the loopback address only
+    public static InetSocketAddress parseAddress(final String text)
+    {
+        final int separator = text.lastIndexOf(':');
+        try
+        {
+            if (separator < 0)
+            {
+                return new InetSocketAddress("127.0.0.1", Integer.parseInt(text));
+            }
+            return new InetSocketAddress(text.substring(0, separator), Integer.parseInt(text.substring(separator + 1)));
+        }
+        catch (final IllegalArgumentException e)
+        {
+            throw new RuntimeException("Invalid metrics address: " + text, e);
+        }
+    }
+
+    public void start()
+    {
+        this.server.start();
+    }
+
+    public void stop()
+    {
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    public InetSocketAddress getAddress()
+    {
+        return this.server.getAddress();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException
+    {
+        try
+        {
+            final String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD"))
+            {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            final byte[] body = this.registry.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", MetricsRegistry.CONTENT_TYPE);
+            if (method.equals("HEAD"))
+            {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (final OutputStream out = exchange.getResponseBody())
+            {
+                out.write(body);
+            }
+        }
+        finally
+        {
+            exchange.close();
+        }
+    }
+}
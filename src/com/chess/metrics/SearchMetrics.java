@@ -0,0 +1,64 @@
+package com.chess.metrics;
+
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.SearchStatistics;
+import com.google.common.base.Supplier;
+
+// The engine's metrics for a long running service: searches and their latency per kind of
+// limit, nodes, evaluations and transposition table use as counters Prometheus turns into
+// rates, and gauges for the table usage, the running search and the searches queued behind
+// it. The engine is looked up on every scrape since a front end may replace it, e.g. when the
+// number of threads changes.
+public final class SearchMetrics
+{
+    // Seconds, from a shallow fixed depth search up to a long analysis
+    private static final double[] LATENCY_BUCKETS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 300};
+
+    private final Counter searches;
+    private final Histogram latency;
+    private final Counter nodes;
+    private final Counter evaluations;
+    private final Counter tableProbes;
+    private final Counter tableHits;
+    private volatile long nodesPerSecond;
+
+    public SearchMetrics(final MetricsRegistry registry, final Supplier<AlphaBeta> engine)
+    {
+        this.searches = registry.counter("chess_searches_total", "Searches completed");
+        this.latency = registry.histogram("chess_search_duration_seconds",
+                "Time from the start of a search to its best move, by depth or time control", "limit", LATENCY_BUCKETS);
+        this.nodes = registry.counter("chess_search_nodes_total", "Nodes searched, quiescence nodes included");
+        this.evaluations = registry.counter("chess_evaluations_total", "Static evaluations");
+        this.tableProbes = registry.counter("chess_tt_probes_total", "Transposition table probes");
+        this.tableHits = registry.counter("chess_tt_hits_total", "Transposition table probes that found the position");
+        registry.gauge("chess_search_nodes_per_second", "Speed of the running or last search",
+                () -> this.nodesPerSecond);
+        registry.gauge("chess_tt_hit_ratio", "Share of transposition table probes that found the position",
+                () -> this.tableProbes.get() > 0 ? (double) this.tableHits.get() / this.tableProbes.get() : 0);
+        registry.gauge("chess_tt_usage_ratio", "Share of transposition table entries in use",
+                () -> engine.get().getTranspositionTable().usage());
+        registry.gauge("chess_tt_entries", "Transposition table capacity in entries",
+                () -> engine.get().getTranspositionTable().capacity());
+        registry.gauge("chess_search_active_threads", "Threads searching right now",
+                () -> engine.get().getActiveThreads());
+        registry.gauge("chess_search_queued", "Searches waiting for the running one to finish",
+                () -> engine.get().getQueuedSearches());
+    }
+
+    public void onProgress(final SearchStatistics statistics)
+    {
+        this.nodesPerSecond = statistics.getNodesPerSecond();
+    }
+
+    // The limit names the depth or time control, e.g. "depth 8" or "movetime", and should take few values
+    public void onSearchComplete(final String limit, final SearchStatistics statistics)
+    {
+        this.searches.increment();
+        this.latency.observe(limit, statistics.getTimeMillis() / 1000.0);
+        this.nodes.add(statistics.getNodes());
+        this.evaluations.add(statistics.getEvaluations());
+        this.tableProbes.add(statistics.getTableProbes());
+        this.tableHits.add(statistics.getTableHits());
+        this.nodesPerSecond = statistics.getNodesPerSecond();
+    }
+}
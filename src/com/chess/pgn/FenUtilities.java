@@ -1,10 +1,9 @@
 package com.chess.pgn;
 
+import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
-import com.chess.engine.pieces.Pawn;
-
-import java.util.Locale;
+import com.chess.engine.pieces.*;
 
 public class FenUtilities {
     private FenUtilities () {
@@ -13,7 +12,7 @@ public class FenUtilities {
 
     public static Board createGameFromFEN (final String fenString)
     {
-        return null;
+        return parseFEN(fenString);
     }
 
     public static String createFENFromGame (final Board board)
@@ -22,8 +21,134 @@ public class FenUtilities {
                calculateCurrentPlayerText(board) +  " " +
                calculateCastleText(board)+ " " +
                calculateEnPassantSquare(board) + " " +
-               "0 1";
+               board.getHalfmoveClock() + " 1";
+
+    }
 
+    private static Board parseFEN(final String fenString)
+    {
+        final String[] fenPartitions = fenString.trim().split("\\s+");
+        if (fenPartitions.length < 2)
+        {
+            throw new RuntimeException("Invalid FEN string: " + fenString);
+        }
+        final Board.Builder builder = new Board.Builder();
+        final String gameConfiguration = fenPartitions[0];
+        final String castleText = fenPartitions.length > 2 ? fenPartitions[2] : "-";
+        final boolean whiteKingSideCastle = castleText.contains("K");
+        final boolean whiteQueenSideCastle = castleText.contains("Q");
+        final boolean blackKingSideCastle = castleText.contains("k");
+        final boolean blackQueenSideCastle = castleText.contains("q");
+
+        int i = 0;
+        for (final char c : gameConfiguration.toCharArray())
+        {
+            if (c == '/')
+            {
+                continue;
+            }
+            if (Character.isDigit(c))
+            {
+                i += c - '0';
+                continue;
+            }
+            if (!BoardUtils.isValidTileCoordinate(i))
+            {
+                throw new RuntimeException("Invalid FEN board: " + gameConfiguration);
+            }
+            final Alliance alliance = Character.isUpperCase(c) ? Alliance.WHITE : Alliance.BLACK;
+            switch (Character.toUpperCase(c))
+            {
+                case 'P':
+                    builder.setPiece(new Pawn(alliance, i));
+                    break;
+                case 'N':
+                    builder.setPiece(new Knight(alliance, i));
+                    break;
+                case 'B':
+                    builder.setPiece(new Bishop(alliance, i));
+                    break;
+                case 'R':
+                    // A rook only keeps its first move if the matching castle right is still available
+                    builder.setPiece(new Rook(alliance, i, isCastleRook(i, whiteKingSideCastle, whiteQueenSideCastle,
+                            blackKingSideCastle, blackQueenSideCastle)));
+                    break;
+                case 'Q':
+                    builder.setPiece(new Queen(alliance, i));
+                    break;
+                case 'K':
+                    final boolean kingSideCastle = alliance.isWhite() ? whiteKingSideCastle : blackKingSideCastle;
+                    final boolean queenSideCastle = alliance.isWhite() ? whiteQueenSideCastle : blackQueenSideCastle;
+                    builder.setPiece(new King(alliance, i, kingSideCastle || queenSideCastle, false,
+                            kingSideCastle, queenSideCastle));
+                    break;
+                default:
+                    throw new RuntimeException("Invalid FEN piece: " + c);
+            }
+            i++;
+        }
+        if (i != BoardUtils.NUM_TILES)
+        {
+            throw new RuntimeException("Invalid FEN board: " + gameConfiguration);
+        }
+
+        final Alliance moveMaker = moveMaker(fenPartitions[1]);
+        builder.setMoveMaker(moveMaker);
+
+        final String enPassantText = fenPartitions.length > 3 ? fenPartitions[3] : "-";
+        if (!enPassantText.equals("-") && BoardUtils.POSITION_TO_COORDINATE.containsKey(enPassantText))
+        {
+            // The en passant square is behind the pawn that just jumped, which belongs to the opponent of the move maker
+            final Alliance pawnAlliance = moveMaker.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+            final int pawnCoordinate = BoardUtils.getCoordinateAtPosition(enPassantText) -
+                    (8 * pawnAlliance.getOppositeDirection());
+            if (BoardUtils.isValidTileCoordinate(pawnCoordinate))
+            {
+                builder.setEnPassantPawn(new Pawn(pawnAlliance, pawnCoordinate));
+            }
+        }
+        if (fenPartitions.length > 4)
+        {
+            builder.setHalfmoveClock(parseHalfmoveClock(fenPartitions[4]));
+        }
+        return builder.build();
+    }
+
+    private static int parseHalfmoveClock(final String halfmoveClockText)
+    {
+        try
+        {
+            return Integer.parseInt(halfmoveClockText);
+        }
+        catch (final NumberFormatException e)
+        {
+            throw new RuntimeException("Invalid FEN halfmove clock: " + halfmoveClockText);
+        }
+    }
+
+    private static boolean isCastleRook(final int coordinate,
+                                        final boolean whiteKingSideCastle,
+                                        final boolean whiteQueenSideCastle,
+                                        final boolean blackKingSideCastle,
+                                        final boolean blackQueenSideCastle)
+    {
+        return (coordinate == 63 && whiteKingSideCastle) ||
+               (coordinate == 56 && whiteQueenSideCastle) ||
+               (coordinate == 7 && blackKingSideCastle) ||
+               (coordinate == 0 && blackQueenSideCastle);
+    }
+
+    private static Alliance moveMaker(final String moveMakerString)
+    {
+        if (moveMakerString.equals("w"))
+        {
+            return Alliance.WHITE;
+        }
+        else if (moveMakerString.equals("b"))
+        {
+            return Alliance.BLACK;
+        }
+        throw new RuntimeException("Invalid FEN move maker: " + moveMakerString);
     }
 
     private static String calculateBoardText(final Board board)
@@ -54,7 +179,7 @@ public class FenUtilities {
 
     private static String calculateCurrentPlayerText(final Board board)
     {
-        return board.currentPlayer().toString().substring(0,1).toLowerCase();
+        return board.currentPlayer().getAlliance().toString().substring(0,1).toLowerCase();
     }
 
     private static String calculateCastleText(final Board board) {
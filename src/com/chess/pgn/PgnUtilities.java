@@ -0,0 +1,146 @@
+package com.chess.pgn;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.GameState;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+
+import java.util.List;
+import java.util.Map;
+
+public class PgnUtilities {
+
+    private static final int MAX_LINE_LENGTH = 80;
+
+    private PgnUtilities () {
+        throw new RuntimeException("Not instantiable !");
+    }
+
+    // Standard algebraic notation of a legal move in the position, e.g. Nbd2, exd6, e8=Q+ or O-O-O#
+    public static String toSan(final Board board, final Move move)
+    {
+        final StringBuilder san = new StringBuilder();
+        if (move.isCastlingMove())
+        {
+            san.append(move.getDestinationCoordinate() > move.getCurrentCoordinate() ? "O-O" : "O-O-O");
+        }
+        else
+        {
+            final Piece.PieceType pieceType = move.getPieceToBeMoved().getPieceType();
+            final String from = BoardUtils.getPositionAtCoordinate(move.getCurrentCoordinate());
+            if (pieceType == Piece.PieceType.PAWN)
+            {
+                if (move.isAttack())
+                {
+                    san.append(from.charAt(0));
+                }
+            }
+            else
+            {
+                san.append(pieceType).append(disambiguation(board, move, from));
+            }
+            if (move.isAttack())
+            {
+                san.append('x');
+            }
+            san.append(BoardUtils.getPositionAtCoordinate(move.getDestinationCoordinate()));
+            if (move.getPromotionType() != null)
+            {
+                san.append('=').append(move.getPromotionType());
+            }
+        }
+        final Board after = board.currentPlayer().makeMove(move).getTransitionBoard();
+        if (after.getGameState() == GameState.CHECKMATE)
+        {
+            san.append('#');
+        }
+        else if (after.currentPlayer().isInCheck())
+        {
+            san.append('+');
+        }
+        return san.toString();
+    }
+
+    // Tag pairs in the given order followed by the movetext, wrapped the way PGN export expects
+    public static String createPgn(final Map<String, String> tags,
+                                   final List<String> moves,
+                                   final boolean blackMovesFirst,
+                                   final String result)
+    {
+        final StringBuilder pgn = new StringBuilder();
+        for (final Map.Entry<String, String> tag : tags.entrySet())
+        {
+            pgn.append('[').append(tag.getKey()).append(" \"")
+               .append(tag.getValue().replace("\\", "\\\\").replace("\"", "\\\"")).append("\"]\n");
+        }
+        pgn.append('\n');
+
+        final StringBuilder line = new StringBuilder();
+        int ply = blackMovesFirst ? 1 : 0;
+        for (final String move : moves)
+        {
+            if (ply % 2 == 0)
+            {
+                appendToken(pgn, line, (ply / 2 + 1) + ".");
+            }
+            else if (ply == 1 && blackMovesFirst)
+            {
+                appendToken(pgn, line, "1...");
+            }
+            for (final String token : move.split(" "))
+            {
+                appendToken(pgn, line, token);
+            }
+            ply++;
+        }
+        appendToken(pgn, line, result);
+        pgn.append(line).append("\n\n");
+        return pgn.toString();
+    }
+
+    private static void appendToken(final StringBuilder pgn, final StringBuilder line, final String token)
+    {
+        if (line.length() > 0 && line.length() + 1 + token.length() > MAX_LINE_LENGTH)
+        {
+            pgn.append(line).append('\n');
+            line.setLength(0);
+        }
+        if (line.length() > 0)
+        {
+            line.append(' ');
+        }
+        line.append(token);
+    }
+
+    // The file, rank or square of departure when another piece of the same kind can reach the same square
+    private static String disambiguation(final Board board, final Move move, final String from)
+    {
+        boolean ambiguous = false;
+        boolean sameFile = false;
+        boolean sameRank = false;
+        for (final Move other : board.currentPlayer().getLegalMoves())
+        {
+            if (other.getDestinationCoordinate() != move.getDestinationCoordinate() ||
+                other.getCurrentCoordinate() == move.getCurrentCoordinate() ||
+                other.isCastlingMove() ||
+                other.getPieceToBeMoved().getPieceType() != move.getPieceToBeMoved().getPieceType())
+            {
+                continue;
+            }
+            ambiguous = true;
+            final String otherFrom = BoardUtils.getPositionAtCoordinate(other.getCurrentCoordinate());
+            sameFile |= otherFrom.charAt(0) == from.charAt(0);
+            sameRank |= otherFrom.charAt(1) == from.charAt(1);
+        }
+        if (!ambiguous)
+        {
+            return "";
+        }
+        if (!sameFile)
+        {
+            return from.substring(0, 1);
+        }
+        return sameRank ? from : from.substring(1, 2);
+    }
+}
@@ -0,0 +1,106 @@
+package com.chess.tournament;
+
+// When a game may be ended before it is played out. A game is won for one side once both
+// engines agree on it: the loser has scored itself at or below -resignScore and the winner
+// itself at or above resignScore on each of their last resignMoves moves. From move
+// drawMoveNumber on, a game is drawn once every score of the last drawMoves moves of both
+// sides stayed within drawScore of zero. Games reaching maxPlies are drawn regardless.
+final class Adjudication
+{
+    static final int DISABLED = 0;
+
+    static final Adjudication DEFAULT = new Adjudication(1000, 4, 40, 8, 10, 600);
+
+    private final int resignScore;
+    private final int resignMoves;
+    private final int drawMoveNumber;
+    private final int drawMoves;
+    private final int drawScore;
+    private final int maxPlies;
+
+    Adjudication(final int resignScore,
+                 final int resignMoves,
+                 final int drawMoveNumber,
+                 final int drawMoves,
+                 final int drawScore,
+                 final int maxPlies)
+    {
+        this.resignScore = resignScore;
+        this.resignMoves = resignMoves;
+        this.drawMoveNumber = drawMoveNumber;
+        this.drawMoves = drawMoves;
+        this.drawScore = drawScore;
+        this.maxPlies = maxPlies;
+    }
+
+    // resignScore,resignMoves
+    Adjudication withResign(final String text)
+    {
+        final String[] values = text.split(",");
+        return new Adjudication(Integer.parseInt(values[0]), Integer.parseInt(values[1]),
+                this.drawMoveNumber, this.drawMoves, this.drawScore, this.maxPlies);
+    }
+
+    // drawMoveNumber,drawMoves,drawScore
+    Adjudication withDraw(final String text)
+    {
+        final String[] values = text.split(",");
+        return new Adjudication(this.resignScore, this.resignMoves,
+                Integer.parseInt(values[0]), Integer.parseInt(values[1]), Integer.parseInt(values[2]), this.maxPlies);
+    }
+
+    Adjudication withMaxPlies(final int maxPlies)
+    {
+        return new Adjudication(this.resignScore, this.resignMoves,
+                this.drawMoveNumber, this.drawMoves, this.drawScore, maxPlies);
+    }
+
+    boolean isResignEnabled()
+    {
+        return this.resignMoves != DISABLED;
+    }
+
+    boolean isDrawEnabled()
+    {
+        return this.drawMoves != DISABLED;
+    }
+
+    int getResignScore()
+    {
+        return this.resignScore;
+    }
+
+    int getResignMoves()
+    {
+        return this.resignMoves;
+    }
+
+    int getDrawMoveNumber()
+    {
+        return this.drawMoveNumber;
+    }
+
+    int getDrawMoves()
+    {
+        return this.drawMoves;
+    }
+
+    int getDrawScore()
+    {
+        return this.drawScore;
+    }
+
+    int getMaxPlies()
+    {
+        return this.maxPlies;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "resign " + (isResignEnabled() ? this.resignScore + "cp x" + this.resignMoves : "off") +
+               ", draw " + (isDrawEnabled() ? "from move " + this.drawMoveNumber + " " +
+                                              this.drawScore + "cp x" + this.drawMoves : "off") +
+               ", max plies " + this.maxPlies;
+    }
+}
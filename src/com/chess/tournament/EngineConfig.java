@@ -0,0 +1,112 @@
+package com.chess.tournament;
+
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.EvaluatorWeights;
+import com.chess.engine.player.ai.SearchParameters;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import com.chess.engine.player.ai.TranspositionTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+
+// One engine build taking part in a tournament, given on the command line as comma separated
+// key=value pairs: name, weights (an evaluator weights file), hash (MB), threads and the search
+// switches nullmove, lmr, futility and razoring, e.g. name=dev,weights=dev.txt,lmr=false
+final class EngineConfig
+{
+    private static final int DEFAULT_HASH_SIZE_MB = 4;
+
+    private final String name;
+    private final EvaluatorWeights weights;
+    private final SearchParameters parameters;
+    private final int hashSizeMb;
+
+    private EngineConfig(final String name,
+                         final EvaluatorWeights weights,
+                         final SearchParameters parameters,
+                         final int hashSizeMb)
+    {
+        this.name = name;
+        this.weights = weights;
+        this.parameters = parameters;
+        this.hashSizeMb = hashSizeMb;
+    }
+
+    static EngineConfig parse(final String spec)
+    {
+        String name = null;
+        EvaluatorWeights weights = EvaluatorWeights.DEFAULT;
+        final SearchParameters.Builder parameters = new SearchParameters.Builder();
+        int hashSizeMb = DEFAULT_HASH_SIZE_MB;
+        for (final String option : spec.split(","))
+        {
+            final int separator = option.indexOf('=');
+            if (separator < 0)
+            {
+                throw new RuntimeException("Invalid engine option " + option + " in " + spec);
+            }
+            final String key = option.substring(0, separator).trim().toLowerCase();
+            final String value = option.substring(separator + 1).trim();
+            switch (key)
+            {
+                case "name":
+                    name = value;
+                    break;
+                case "weights":
+                    try
+                    {
+                        weights = EvaluatorWeights.load(Paths.get(value));
+                    }
+                    catch (final IOException e)
+                    {
+                        throw new UncheckedIOException("Cannot read weights " + value, e);
+                    }
+                    break;
+                case "hash":
+                    hashSizeMb = Integer.parseInt(value);
+                    break;
+                case "threads":
+                    parameters.setThreads(Integer.parseInt(value));
+                    break;
+                case "nullmove":
+                    parameters.setNullMovePruning(Boolean.parseBoolean(value));
+                    break;
+                case "lmr":
+                    parameters.setLateMoveReductions(Boolean.parseBoolean(value));
+                    break;
+                case "futility":
+                    parameters.setFutilityPruning(Boolean.parseBoolean(value));
+                    break;
+                case "razoring":
+                    parameters.setRazoring(Boolean.parseBoolean(value));
+                    break;
+                default:
+                    throw new RuntimeException("Unknown engine option " + key + " in " + spec);
+            }
+        }
+        if (name == null)
+        {
+            throw new RuntimeException("Engine without a name: " + spec);
+        }
+        return new EngineConfig(name, weights, parameters.build(), hashSizeMb);
+    }
+
+    String getName()
+    {
+        return this.name;
+    }
+
+    // Every game gets fresh engines, so nothing learned in one game leaks into the next
+    AlphaBeta createEngine(final int maxDepth)
+    {
+        return new AlphaBeta(maxDepth, new StandardBoardEvaluator(this.weights), this.parameters,
+                new TranspositionTable(this.hashSizeMb));
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.name + " (" + this.parameters + " hash=" + this.hashSizeMb + ")";
+    }
+}
@@ -0,0 +1,95 @@
+package com.chess.tournament;
+
+// The outcome of one finished tournament game and its PGN text
+final class GameRecord
+{
+    enum Result
+    {
+        WHITE_WINS("1-0"),
+        BLACK_WINS("0-1"),
+        DRAW("1/2-1/2");
+
+        private final String text;
+
+        Result(final String text)
+        {
+            this.text = text;
+        }
+
+        @Override
+        public String toString()
+        {
+            return this.text;
+        }
+    }
+
+    private final int round;
+    private final EngineConfig white;
+    private final EngineConfig black;
+    private final Result result;
+    private final String termination;
+    private final int plies;
+    private final String pgn;
+
+    GameRecord(final int round,
+               final EngineConfig white,
+               final EngineConfig black,
+               final Result result,
+               final String termination,
+               final int plies,
+               final String pgn)
+    {
+        this.round = round;
+        this.white = white;
+        this.black = black;
+        this.result = result;
+        this.termination = termination;
+        this.plies = plies;
+        this.pgn = pgn;
+    }
+
+    int getRound()
+    {
+        return this.round;
+    }
+
+    EngineConfig getWhite()
+    {
+        return this.white;
+    }
+
+    EngineConfig getBlack()
+    {
+        return this.black;
+    }
+
+    Result getResult()
+    {
+        return this.result;
+    }
+
+    String getTermination()
+    {
+        return this.termination;
+    }
+
+    int getPlies()
+    {
+        return this.plies;
+    }
+
+    String getPgn()
+    {
+        return this.pgn;
+    }
+
+    // 1 for a win, 0.5 for a draw and 0 for a loss of the given engine
+    double scoreOf(final EngineConfig engine)
+    {
+        if (this.result == Result.DRAW)
+        {
+            return 0.5;
+        }
+        return (this.result == Result.WHITE_WINS) == (engine == this.white) ? 1 : 0;
+    }
+}
@@ -0,0 +1,159 @@
+package com.chess.tournament;
+
+import java.util.Locale;
+
+// Wins, draws and losses of one engine against another and what they say about the Elo
+// difference between them. Each game is treated as an independent draw from a trinomial
+// distribution; the confidence interval comes from the normal approximation of the mean score.
+public final class MatchStatistics
+{
+    // Two-sided 95% quantile of the standard normal distribution
+    private static final double Z_95 = 1.959963984540054;
+
+    private int wins;
+    private int draws;
+    private int losses;
+
+    public void addWin()
+    {
+        this.wins++;
+    }
+
+    public void addDraw()
+    {
+        this.draws++;
+    }
+
+    public void addLoss()
+    {
+        this.losses++;
+    }
+
+    // Adds a game scored 1, 0.5 or 0
+    public void add(final double score)
+    {
+        if (score == 1)
+        {
+            addWin();
+        }
+        else if (score == 0)
+        {
+            addLoss();
+        }
+        else
+        {
+            addDraw();
+        }
+    }
+
+    public int getWins()
+    {
+        return this.wins;
+    }
+
+    public int getDraws()
+    {
+        return this.draws;
+    }
+
+    public int getLosses()
+    {
+        return this.losses;
+    }
+
+    public int getGames()
+    {
+        return this.wins + this.draws + this.losses;
+    }
+
+    public double getPoints()
+    {
+        return this.wins + 0.5 * this.draws;
+    }
+
+    // Mean points per game, 0.5 before the first game
+    public double getScore()
+    {
+        final int games = getGames();
+        return games > 0 ? getPoints() / games : 0.5;
+    }
+
+    // Variance of the points of a single game around the mean score
+    public double getVariance()
+    {
+        final int games = getGames();
+        if (games == 0)
+        {
+            return 0;
+        }
+        final double score = getScore();
+        return (this.wins + 0.25 * this.draws) / games - score * score;
+    }
+
+    public double getElo()
+    {
+        return scoreToElo(getScore());
+    }
+
+    // Half the width of the 95% confidence interval of the Elo difference
+    public double getEloErrorMargin()
+    {
+        final int games = getGames();
+        if (games == 0)
+        {
+            return Double.POSITIVE_INFINITY;
+        }
+        final double margin = Z_95 * Math.sqrt(getVariance() / games);
+        final double score = getScore();
+        return (scoreToElo(score + margin) - scoreToElo(score - margin)) / 2;
+    }
+
+    // Likelihood of superiority: the probability that the engine is the stronger one. Draws
+    // carry no information about which side is stronger, so only decisive games count
+    public double getLikelihoodOfSuperiority()
+    {
+        final int decisive = this.wins + this.losses;
+        if (decisive == 0)
+        {
+            return 0.5;
+        }
+        return 0.5 * (1 + erf((this.wins - this.losses) / Math.sqrt(2.0 * decisive)));
+    }
+
+    // Expected score against an opponent the given number of Elo points weaker
+    public static double eloToScore(final double elo)
+    {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+
+    public static double scoreToElo(final double score)
+    {
+        if (score <= 0)
+        {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (score >= 1)
+        {
+            return Double.POSITIVE_INFINITY;
+        }
+        return -400 * Math.log10(1 / score - 1);
+    }
+
+    // Abramowitz and Stegun 7.1.26, accurate to 1.5e-7, since java.lang.Math has no erf
+    static double erf(final double x)
+    {
+        final double t = 1 / (1 + 0.3275911 * Math.abs(x));
+        final double polynomial = t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 +
+                                  t * (-1.453152027 + t * 1.061405429))));
+        final double value = 1 - polynomial * Math.exp(-x * x);
+        return x >= 0 ? value : -value;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format(Locale.ROOT, "%d - %d - %d  [%.3f]  Elo %.1f +/- %.1f  LOS %.1f%%",
+                this.wins, this.losses, this.draws, getScore(), getElo(), getEloErrorMargin(),
+                100 * getLikelihoodOfSuperiority());
+    }
+}
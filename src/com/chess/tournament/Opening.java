@@ -0,0 +1,92 @@
+package com.chess.tournament;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.MoveTransition;
+import com.chess.pgn.FenUtilities;
+import com.chess.pgn.PgnUtilities;
+import com.chess.uci.UciEngine;
+import com.google.common.collect.ImmutableList;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// A start position for a pair of games. An openings file holds one per line: either a FEN, or
+// moves in long algebraic notation played from the standard position (e2e4 c7c5 g1f3). Blank
+// lines and lines starting with # are skipped.
+final class Opening
+{
+    static final Opening STANDARD = new Opening(null, Board.createStandardBoard(), ImmutableList.<String>of());
+
+    private final String fen;
+    private final Board board;
+    private final List<String> bookMoves;
+
+    private Opening(final String fen, final Board board, final List<String> bookMoves)
+    {
+        this.fen = fen;
+        this.board = board;
+        this.bookMoves = bookMoves;
+    }
+
+    static List<Opening> load(final Path path) throws IOException
+    {
+        final List<Opening> openings = new ArrayList<>();
+        for (final String line : Files.readAllLines(path, StandardCharsets.UTF_8))
+        {
+            final String text = line.trim();
+            if (!text.isEmpty() && !text.startsWith("#"))
+            {
+                openings.add(parse(text));
+            }
+        }
+        if (openings.isEmpty())
+        {
+            throw new RuntimeException("No openings in " + path);
+        }
+        return ImmutableList.copyOf(openings);
+    }
+
+    static Opening parse(final String text)
+    {
+        if (text.contains("/"))
+        {
+            return new Opening(text, FenUtilities.createGameFromFEN(text), ImmutableList.<String>of());
+        }
+        Board board = Board.createStandardBoard();
+        final List<String> bookMoves = new ArrayList<>();
+        for (final String token : text.split("\\s+"))
+        {
+            final Move move = UciEngine.parseMove(board, token);
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (!transition.getMoveStatus().isDone())
+            {
+                throw new RuntimeException("Illegal opening move " + token + " in " + text);
+            }
+            bookMoves.add(PgnUtilities.toSan(board, move));
+            board = transition.getTransitionBoard();
+        }
+        return new Opening(null, board, ImmutableList.copyOf(bookMoves));
+    }
+
+    // The FEN the game record starts from, null when it starts from the standard position
+    String getFen()
+    {
+        return this.fen;
+    }
+
+    // The position after the book moves, where the engines take over
+    Board getBoard()
+    {
+        return this.board;
+    }
+
+    List<String> getBookMoves()
+    {
+        return this.bookMoves;
+    }
+}
@@ -0,0 +1,122 @@
+package com.chess.tournament;
+
+import java.util.Locale;
+
+// Sequential probability ratio test between H0: the engine is elo0 stronger and H1: it is elo1
+// stronger, with false positive rate alpha and false negative rate beta. Results are fed in
+// one game at a time and the log-likelihood ratio is checked against the bounds after every
+// game, so a match stops as soon as the evidence is good enough either way instead of after a
+// fixed number of games.
+//
+// The likelihood ratio uses the normal approximation of the trinomial model (the generalised
+// SPRT): with mean score s and per-game variance v over n games,
+// LLR = n (s1 - s0) (2s - s0 - s1) / (2v), where s0 and s1 are the expected scores under H0
+// and H1. It tracks the exact trinomial LLR closely for the small Elo differences tested here.
+public final class Sprt
+{
+    public enum Decision
+    {
+        CONTINUE,
+        ACCEPT_H0,
+        ACCEPT_H1
+    }
+
+    private final double elo0;
+    private final double elo1;
+    private final double alpha;
+    private final double beta;
+    private final double lowerBound;
+    private final double upperBound;
+    private final MatchStatistics statistics;
+
+    public Sprt(final double elo0, final double elo1, final double alpha, final double beta)
+    {
+        if (elo1 <= elo0)
+        {
+            throw new IllegalArgumentException("elo1 must be above elo0, got " + elo0 + " and " + elo1);
+        }
+        if (alpha <= 0 || alpha >= 1 || beta <= 0 || beta >= 1)
+        {
+            throw new IllegalArgumentException("alpha and beta must lie between 0 and 1, got " + alpha + " and " + beta);
+        }
+        this.elo0 = elo0;
+        this.elo1 = elo1;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.lowerBound = Math.log(beta / (1 - alpha));
+        this.upperBound = Math.log((1 - beta) / alpha);
+        this.statistics = new MatchStatistics();
+    }
+
+    // elo0,elo1[,alpha,beta], alpha and beta defaulting to 0.05
+    public static Sprt parse(final String text)
+    {
+        final String[] values = text.split(",");
+        if (values.length != 2 && values.length != 4)
+        {
+            throw new RuntimeException("Invalid SPRT parameters: " + text);
+        }
+        final double alpha = values.length > 2 ? Double.parseDouble(values[2]) : 0.05;
+        final double beta = values.length > 2 ? Double.parseDouble(values[3]) : 0.05;
+        return new Sprt(Double.parseDouble(values[0]), Double.parseDouble(values[1]), alpha, beta);
+    }
+
+    // Adds a game scored 1, 0.5 or 0 from the tested engine's point of view
+    public Decision add(final double score)
+    {
+        this.statistics.add(score);
+        return getDecision();
+    }
+
+    public Decision getDecision()
+    {
+        final double llr = getLogLikelihoodRatio();
+        if (llr >= this.upperBound)
+        {
+            return Decision.ACCEPT_H1;
+        }
+        if (llr <= this.lowerBound)
+        {
+            return Decision.ACCEPT_H0;
+        }
+        return Decision.CONTINUE;
+    }
+
+    public double getLogLikelihoodRatio()
+    {
+        // The variance estimate of the first few games is too unreliable to decide on; waiting
+        // for every kind of result keeps a lucky start from ending the match
+        if (this.statistics.getWins() == 0 || this.statistics.getDraws() == 0 || this.statistics.getLosses() == 0)
+        {
+            return 0;
+        }
+        final double variance = this.statistics.getVariance();
+        final double score0 = MatchStatistics.eloToScore(this.elo0);
+        final double score1 = MatchStatistics.eloToScore(this.elo1);
+        return this.statistics.getGames() * (score1 - score0) *
+               (2 * this.statistics.getScore() - score0 - score1) / (2 * variance);
+    }
+
+    public double getLowerBound()
+    {
+        return this.lowerBound;
+    }
+
+    public double getUpperBound()
+    {
+        return this.upperBound;
+    }
+
+    public MatchStatistics getStatistics()
+    {
+        return this.statistics;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format(Locale.ROOT, "SPRT elo0=%.1f elo1=%.1f alpha=%.3f beta=%.3f: LLR %.2f (%.2f, %.2f) %s",
+                this.elo0, this.elo1, this.alpha, this.beta, getLogLikelihoodRatio(),
+                this.lowerBound, this.upperBound, getDecision());
+    }
+}
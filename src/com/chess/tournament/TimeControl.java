@@ -0,0 +1,93 @@
+package com.chess.tournament;
+
+import com.chess.engine.player.ai.SearchLimits;
+
+// How long each move may take: a fixed depth (depth=6), a fixed time per move in milliseconds
+// (movetime=100) or a clock of base seconds plus an increment per move (10+0.1). Engines on a
+// clock budget their own time from what is left, exactly as the UCI front end does.
+final class TimeControl
+{
+    static final int MAX_DEPTH = 64;
+
+    private final String text;
+    private final int depth;
+    private final long moveTimeMillis;
+    private final long baseMillis;
+    private final long incrementMillis;
+
+    private TimeControl(final String text,
+                        final int depth,
+                        final long moveTimeMillis,
+                        final long baseMillis,
+                        final long incrementMillis)
+    {
+        this.text = text;
+        this.depth = depth;
+        this.moveTimeMillis = moveTimeMillis;
+        this.baseMillis = baseMillis;
+        this.incrementMillis = incrementMillis;
+    }
+
+    static TimeControl parse(final String text)
+    {
+        try
+        {
+            if (text.startsWith("depth="))
+            {
+                return new TimeControl(text, Integer.parseInt(text.substring(6)), SearchLimits.NO_TIME_LIMIT, 0, 0);
+            }
+            if (text.startsWith("movetime="))
+            {
+                return new TimeControl(text, MAX_DEPTH, Long.parseLong(text.substring(9)), 0, 0);
+            }
+            final String[] parts = text.split("\\+");
+            final long base = Math.round(Double.parseDouble(parts[0]) * 1000);
+            final long increment = parts.length > 1 ? Math.round(Double.parseDouble(parts[1]) * 1000) : 0;
+            if (base <= 0)
+            {
+                throw new RuntimeException("Invalid time control: " + text);
+            }
+            return new TimeControl(text, MAX_DEPTH, SearchLimits.NO_TIME_LIMIT, base, increment);
+        }
+        catch (final NumberFormatException e)
+        {
+            throw new RuntimeException("Invalid time control: " + text, e);
+        }
+    }
+
+    boolean hasClock()
+    {
+        return this.baseMillis > 0;
+    }
+
+    long getBaseMillis()
+    {
+        return this.baseMillis;
+    }
+
+    long getIncrementMillis()
+    {
+        return this.incrementMillis;
+    }
+
+    int getDepth()
+    {
+        return this.depth;
+    }
+
+    SearchLimits createLimits(final long remainingMillis)
+    {
+        if (hasClock())
+        {
+            return new SearchLimits(this.depth,
+                    SearchLimits.timeForMove(remainingMillis, this.incrementMillis, SearchLimits.DEFAULT_MOVES_TO_GO), false);
+        }
+        return new SearchLimits(this.depth, this.moveTimeMillis, false);
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.text;
+    }
+}
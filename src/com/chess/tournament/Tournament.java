@@ -0,0 +1,242 @@
+package com.chess.tournament;
+
+import com.google.common.collect.ImmutableList;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Plays a match between two engine builds without a GUI, as the regression gate for engine
+// changes. Every opening is played twice with colours reversed so neither engine profits from
+// a lopsided opening. Games run concurrently on a fixed pool of platform threads, one game per
+// thread; finished games are appended to the PGN file as they come in and the running score
+// is printed after each one.
+//
+// With -sprt the match tests whether the first engine is stronger and ends as soon as the test
+// accepts either hypothesis, -games then being the most games it may take. Games still running
+// at that point are abandoned.
+//
+// Usage: Tournament -engine <spec> -engine <spec> [-games N] [-concurrency N] [-tc <time control>]
+//                   [-openings <file>] [-pgn <file>] [-resign <score>,<moves>]
+//                   [-draw <from move>,<moves>,<score>] [-maxplies N] [-sprt <elo0>,<elo1>[,<alpha>,<beta>]]
+//
+// See EngineConfig for the engine spec, TimeControl for the time control format and Sprt for
+// the test; scores are in centipawns and a move count of 0 turns that adjudication off.
+public final class Tournament
+{
+    private static final int DEFAULT_GAMES = 100;
+    private static final String DEFAULT_TIME_CONTROL = "10+0.1";
+    private static final String EVENT = "Engine match";
+
+    private final EngineConfig first;
+    private final EngineConfig second;
+    private final List<Opening> openings;
+    private final TimeControl timeControl;
+    private final Adjudication adjudication;
+    private final int games;
+    private final int concurrency;
+    private final Sprt sprt;
+
+    // Results from the first engine's point of view
+    private final MatchStatistics statistics;
+    private final Map<String, Integer> terminations;
+
+    private Tournament(final EngineConfig first,
+                       final EngineConfig second,
+                       final List<Opening> openings,
+                       final TimeControl timeControl,
+                       final Adjudication adjudication,
+                       final int games,
+                       final int concurrency,
+                       final Sprt sprt)
+    {
+        this.first = first;
+        this.second = second;
+        this.openings = openings;
+        this.timeControl = timeControl;
+        this.adjudication = adjudication;
+        this.games = games;
+        this.concurrency = concurrency;
+        this.sprt = sprt;
+        this.statistics = sprt != null ? sprt.getStatistics() : new MatchStatistics();
+        this.terminations = new TreeMap<>();
+    }
+
+    public static void main(final String[] args) throws IOException, InterruptedException
+    {
+        final List<EngineConfig> engines = new ArrayList<>();
+        List<Opening> openings = null;
+        TimeControl timeControl = TimeControl.parse(DEFAULT_TIME_CONTROL);
+        Adjudication adjudication = Adjudication.DEFAULT;
+        int games = DEFAULT_GAMES;
+        int concurrency = Runtime.getRuntime().availableProcessors();
+        String pgnFile = null;
+        Sprt sprt = null;
+        for (int i = 0; i < args.length - 1; i += 2)
+        {
+            final String value = args[i + 1];
+            switch (args[i])
+            {
+                case "-engine":
+                    engines.add(EngineConfig.parse(value));
+                    break;
+                case "-games":
+                    games = Integer.parseInt(value);
+                    break;
+                case "-concurrency":
+                    concurrency = Integer.parseInt(value);
+                    break;
+                case "-tc":
+                    timeControl = TimeControl.parse(value);
+                    break;
+                case "-openings":
+                    openings = Opening.load(Paths.get(value));
+                    break;
+                case "-pgn":
+                    pgnFile = value;
+                    break;
+                case "-resign":
+                    adjudication = adjudication.withResign(value);
+                    break;
+                case "-draw":
+                    adjudication = adjudication.withDraw(value);
+                    break;
+                case "-maxplies":
+                    adjudication = adjudication.withMaxPlies(Integer.parseInt(value));
+                    break;
+                case "-sprt":
+                    sprt = Sprt.parse(value);
+                    break;
+                default:
+                    throw new RuntimeException("Unknown option " + args[i]);
+            }
+        }
+        if (engines.size() != 2)
+        {
+            System.out.println("Usage: Tournament -engine <spec> -engine <spec> [-games N] [-concurrency N] " +
+                    "[-tc <time control>] [-openings <file>] [-pgn <file>] [-resign <score>,<moves>] " +
+                    "[-draw <from move>,<moves>,<score>] [-maxplies N] [-sprt <elo0>,<elo1>[,<alpha>,<beta>]]");
+            return;
+        }
+        final Tournament tournament = new Tournament(engines.get(0), engines.get(1),
+                openings != null ? openings : ImmutableList.of(Opening.STANDARD),
+                timeControl, adjudication, games, concurrency, sprt);
+        tournament.run(pgnFile);
+    }
+
+    private void run(final String pgnFile) throws IOException, InterruptedException
+    {
+        System.out.println(this.first + " vs " + this.second);
+        System.out.println(this.games + " games, " + this.openings.size() + " openings, time control " +
+                this.timeControl + ", " + this.concurrency + " concurrent games, " + this.adjudication);
+        if (this.sprt != null)
+        {
+            System.out.println(this.sprt);
+        }
+
+        final String date = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy.MM.dd"));
+        // Daemon threads, so games abandoned after an early SPRT decision do not keep the JVM alive
+        final ExecutorService executor = Executors.newFixedThreadPool(this.concurrency, runnable -> {
+            final Thread thread = new Thread(runnable, "Tournament game");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final CompletionService<GameRecord> completionService = new ExecutorCompletionService<>(executor);
+        for (int game = 0; game < this.games; game++)
+        {
+            // Both games of an opening pair share the opening and swap colours
+            final Opening opening = this.openings.get((game / 2) % this.openings.size());
+            final boolean firstIsWhite = game % 2 == 0;
+            completionService.submit(new TournamentGame(EVENT, date, game + 1, opening,
+                    firstIsWhite ? this.first : this.second, firstIsWhite ? this.second : this.first,
+                    this.timeControl, this.adjudication));
+        }
+
+        final long startTime = System.currentTimeMillis();
+        Sprt.Decision decision = Sprt.Decision.CONTINUE;
+        try (final BufferedWriter pgn = pgnFile != null ?
+                Files.newBufferedWriter(Paths.get(pgnFile), StandardCharsets.UTF_8) : null)
+        {
+            for (int finished = 1; finished <= this.games && decision == Sprt.Decision.CONTINUE; finished++)
+            {
+                final GameRecord record;
+                try
+                {
+                    record = completionService.take().get();
+                }
+                catch (final ExecutionException e)
+                {
+                    executor.shutdownNow();
+                    throw new RuntimeException("Game failed", e.getCause());
+                }
+                if (pgn != null)
+                {
+                    pgn.write(record.getPgn());
+                    pgn.flush();
+                }
+                decision = addResult(record);
+                System.out.println("Finished game " + record.getRound() + " (" + record.getWhite().getName() +
+                        " vs " + record.getBlack().getName() + "): " + record.getResult() + " {" +
+                        record.getTermination() + "}");
+                System.out.println("Score of " + this.first.getName() + " vs " + this.second.getName() + ": " +
+                        this.statistics + "  " + finished + "/" + this.games);
+                if (this.sprt != null)
+                {
+                    System.out.println(this.sprt);
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        printSummary(System.currentTimeMillis() - startTime);
+    }
+
+    private Sprt.Decision addResult(final GameRecord record)
+    {
+        this.terminations.merge(record.getTermination(), 1, Integer::sum);
+        final double score = record.scoreOf(this.first);
+        if (this.sprt != null)
+        {
+            return this.sprt.add(score);
+        }
+        this.statistics.add(score);
+        return Sprt.Decision.CONTINUE;
+    }
+
+    private void printSummary(final long elapsedMillis)
+    {
+        System.out.println();
+        System.out.println("Results of " + this.first.getName() + " vs " + this.second.getName() +
+                " (wins - losses - draws): " + this.statistics.getWins() + " - " + this.statistics.getLosses() +
+                " - " + this.statistics.getDraws());
+        System.out.println(String.format(Locale.ROOT, "Score %.1f / %d (%.1f%%)  Elo difference %.1f +/- %.1f  LOS %.1f%%",
+                this.statistics.getPoints(), this.statistics.getGames(), 100 * this.statistics.getScore(),
+                this.statistics.getElo(), this.statistics.getEloErrorMargin(),
+                100 * this.statistics.getLikelihoodOfSuperiority()));
+        if (this.sprt != null)
+        {
+            System.out.println(this.sprt);
+        }
+        for (final Map.Entry<String, Integer> termination : this.terminations.entrySet())
+        {
+            System.out.println("  " + termination.getKey() + ": " + termination.getValue());
+        }
+        System.out.println("Played " + this.statistics.getGames() + " games in " + elapsedMillis / 1000 + " s");
+    }
+}
@@ -0,0 +1,183 @@
+package com.chess.tournament;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.GameState;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.SearchResult;
+import com.chess.pgn.PgnUtilities;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+// Plays one game between two engines on the calling thread. The engines search one after the
+// other, so a game keeps exactly one core busy and the tournament runs as many games at once as
+// it has threads. Every engine move is recorded with the score, depth and time it reported.
+final class TournamentGame implements Callable<GameRecord>
+{
+    private static final int WHITE = 0;
+    private static final int BLACK = 1;
+
+    private final String event;
+    private final String date;
+    private final int round;
+    private final Opening opening;
+    private final EngineConfig white;
+    private final EngineConfig black;
+    private final TimeControl timeControl;
+    private final Adjudication adjudication;
+
+    TournamentGame(final String event,
+                   final String date,
+                   final int round,
+                   final Opening opening,
+                   final EngineConfig white,
+                   final EngineConfig black,
+                   final TimeControl timeControl,
+                   final Adjudication adjudication)
+    {
+        this.event = event;
+        this.date = date;
+        this.round = round;
+        this.opening = opening;
+        this.white = white;
+        this.black = black;
+        this.timeControl = timeControl;
+        this.adjudication = adjudication;
+    }
+
+    @Override
+    public GameRecord call()
+    {
+        final AlphaBeta[] engines = {
+            this.white.createEngine(this.timeControl.getDepth()), this.black.createEngine(this.timeControl.getDepth())
+        };
+        final long[] clocks = {this.timeControl.getBaseMillis(), this.timeControl.getBaseMillis()};
+        // Consecutive own moves each side scored itself as winning or as losing
+        final int[] winningMoves = new int[2];
+        final int[] losingMoves = new int[2];
+        int quietPlies = 0;
+
+        final List<String> moves = new ArrayList<>();
+        for (final String bookMove : this.opening.getBookMoves())
+        {
+            moves.add(bookMove + " {book}");
+        }
+        Board board = this.opening.getBoard();
+        final boolean blackMovesFirst = this.opening.getFen() != null && board.currentPlayer().getAlliance().isBlack();
+        int plies = 0;
+        GameRecord.Result result = null;
+        String termination = null;
+
+        while (result == null)
+        {
+            final GameState gameState = board.getGameState();
+            final int side = board.currentPlayer().getAlliance().isWhite() ? WHITE : BLACK;
+            if (gameState == GameState.CHECKMATE)
+            {
+                result = side == WHITE ? GameRecord.Result.BLACK_WINS : GameRecord.Result.WHITE_WINS;
+                termination = "checkmate";
+                break;
+            }
+            if (gameState.isDraw())
+            {
+                result = GameRecord.Result.DRAW;
+                termination = gameState.toString().toLowerCase().replace('_', ' ');
+                break;
+            }
+            if (plies >= this.adjudication.getMaxPlies())
+            {
+                result = GameRecord.Result.DRAW;
+                termination = "adjudication: move limit";
+                break;
+            }
+
+            final long startTime = System.nanoTime();
+            final SearchResult searchResult = engines[side].search(board, this.timeControl.createLimits(clocks[side]));
+            final long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+            final Move move = searchResult.getBestMove();
+            if (move == null)
+            {
+                throw new RuntimeException("Engine " + (side == WHITE ? this.white : this.black).getName() +
+                        " returned no move in round " + this.round);
+            }
+            if (this.timeControl.hasClock())
+            {
+                clocks[side] -= elapsedMillis;
+                if (clocks[side] < 0)
+                {
+                    result = side == WHITE ? GameRecord.Result.BLACK_WINS : GameRecord.Result.WHITE_WINS;
+                    termination = "time forfeit";
+                    break;
+                }
+                clocks[side] += this.timeControl.getIncrementMillis();
+            }
+
+            moves.add(PgnUtilities.toSan(board, move) + " {" + formatScore(searchResult) + "/" +
+                      searchResult.getDepth() + " " + elapsedMillis + "ms}");
+            board = board.currentPlayer().makeMove(move).getTransitionBoard();
+            plies++;
+
+            final int score = searchResult.getScore();
+            winningMoves[side] = score >= this.adjudication.getResignScore() ? winningMoves[side] + 1 : 0;
+            losingMoves[side] = score <= -this.adjudication.getResignScore() ? losingMoves[side] + 1 : 0;
+            quietPlies = Math.abs(score) <= this.adjudication.getDrawScore() ? quietPlies + 1 : 0;
+            final int opponent = side == WHITE ? BLACK : WHITE;
+            if (this.adjudication.isResignEnabled() &&
+                losingMoves[side] >= this.adjudication.getResignMoves() &&
+                winningMoves[opponent] >= this.adjudication.getResignMoves())
+            {
+                result = side == WHITE ? GameRecord.Result.BLACK_WINS : GameRecord.Result.WHITE_WINS;
+                termination = "adjudication: resign";
+            }
+            else if (this.adjudication.isResignEnabled() &&
+                     winningMoves[side] >= this.adjudication.getResignMoves() &&
+                     losingMoves[opponent] >= this.adjudication.getResignMoves())
+            {
+                result = side == WHITE ? GameRecord.Result.WHITE_WINS : GameRecord.Result.BLACK_WINS;
+                termination = "adjudication: resign";
+            }
+            else if (this.adjudication.isDrawEnabled() &&
+                     (moves.size() + 1) / 2 >= this.adjudication.getDrawMoveNumber() &&
+                     quietPlies >= 2 * this.adjudication.getDrawMoves())
+            {
+                result = GameRecord.Result.DRAW;
+                termination = "adjudication: draw";
+            }
+        }
+
+        final Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("Event", this.event);
+        tags.put("Site", "?");
+        tags.put("Date", this.date);
+        tags.put("Round", Integer.toString(this.round));
+        tags.put("White", this.white.getName());
+        tags.put("Black", this.black.getName());
+        tags.put("Result", result.toString());
+        if (this.opening.getFen() != null)
+        {
+            tags.put("SetUp", "1");
+            tags.put("FEN", this.opening.getFen());
+        }
+        tags.put("TimeControl", this.timeControl.toString());
+        tags.put("Termination", termination);
+        tags.put("PlyCount", Integer.toString(moves.size()));
+        final String pgn = PgnUtilities.createPgn(tags, moves, blackMovesFirst, result.toString());
+        return new GameRecord(this.round, this.white, this.black, result, termination, moves.size(), pgn);
+    }
+
+    // Pawns from the point of view of the side that moved, as chess GUIs show engine scores
+    private static String formatScore(final SearchResult searchResult)
+    {
+        if (searchResult.isMateScore())
+        {
+            final int mateDistance = searchResult.getMateDistance();
+            return (mateDistance > 0 ? "+M" : "-M") + Math.abs(mateDistance);
+        }
+        return String.format(Locale.ROOT, "%+.2f", searchResult.getScore() / 100.0);
+    }
+}
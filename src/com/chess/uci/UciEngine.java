@@ -0,0 +1,456 @@
+package com.chess.uci;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.PrincipalVariation;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.SearchListener;
+import com.chess.engine.player.ai.SearchParameters;
+import com.chess.engine.player.ai.SearchResult;
+import com.chess.engine.player.ai.SearchStatistics;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import com.chess.engine.player.ai.TranspositionTable;
+import com.chess.metrics.MetricsRegistry;
+import com.chess.metrics.MetricsServer;
+import com.chess.metrics.SearchMetrics;
+import com.chess.pgn.FenUtilities;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.List;
+
+// Minimal UCI front end so the engine can be driven from a chess GUI or analysis tool.
+// Supports position, go with depth, movetime or clock limits, pondering, stop and the Hash,
+// Threads and MultiPV options.
+//
+// Started with -metrics [host:]port, the engine also serves Prometheus metrics over HTTP at
+// /metrics for as long as it runs, so a long lived engine service can be monitored.
+public final class UciEngine
+{
+    private static final String NAME = "JavaChessEngine";
+    private static final int MAX_DEPTH = 64;
+    private static final int DEFAULT_HASH_SIZE_MB = 16;
+    private static final int MAX_HASH_SIZE_MB = 1024;
+    private static final int MAX_THREADS = 64;
+    private static final int MAX_MULTI_PV = 64;
+
+    private final PrintStream out;
+    private final TranspositionTable transpositionTable;
+    private final SearchMetrics metrics;
+    private SearchParameters parameters;
+    private volatile AlphaBeta engine;
+    private Board board;
+    private Thread searchThread;
+    private SearchLimits searchLimits;
+
+    private UciEngine(final PrintStream out, final MetricsRegistry registry)
+    {
+        this.out = out;
+        this.transpositionTable = new TranspositionTable(DEFAULT_HASH_SIZE_MB);
+        this.metrics = registry != null ? new SearchMetrics(registry, () -> this.engine) : null;
+        this.parameters = SearchParameters.DEFAULT;
+        this.engine = createEngine();
+        this.board = Board.createStandardBoard();
+    }
+
+    public static void main(final String[] args) throws IOException
+    {
+        MetricsServer metricsServer = null;
+        MetricsRegistry registry = null;
+        if (args.length == 2 && args[0].equals("-metrics"))
+        {
+            registry = new MetricsRegistry();
+            metricsServer = new MetricsServer(registry, MetricsServer.parseAddress(args[1]));
+        }
+        else if (args.length > 0)
+        {
+            System.err.println("Usage: UciEngine [-metrics [host:]port]");
+            return;
+        }
+        final UciEngine uciEngine = new UciEngine(System.out, registry);
+        if (metricsServer != null)
+        {
+            metricsServer.start();
+        }
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+        String line;
+        while ((line = reader.readLine()) != null)
+        {
+            if (!uciEngine.handle(line.trim()))
+            {
+                break;
+            }
+        }
+        uciEngine.stopSearch();
+        if (metricsServer != null)
+        {
+            metricsServer.stop();
+        }
+    }
+
+    // Returns false once the GUI asks the engine to quit
+    private boolean handle(final String command)
+    {
+        final String[] tokens = command.split("\\s+");
+        switch (tokens[0])
+        {
+            case "uci":
+                send("id name " + NAME);
+                send("id author hakroala");
+                send("option name Hash type spin default " + DEFAULT_HASH_SIZE_MB + " min 1 max " + MAX_HASH_SIZE_MB);
+                send("option name Threads type spin default 1 min 1 max " + MAX_THREADS);
+                send("option name MultiPV type spin default 1 min 1 max " + MAX_MULTI_PV);
+                send("option name Ponder type check default false");
+                send("uciok");
+                break;
+            case "isready":
+                send("readyok");
+                break;
+            case "setoption":
+                stopSearch();
+                setOption(tokens);
+                break;
+            case "ucinewgame":
+                stopSearch();
+                this.engine.clear();
+                this.board = Board.createStandardBoard();
+                break;
+            case "position":
+                stopSearch();
+                try
+                {
+                    this.board = parsePosition(tokens);
+                }
+                catch (final RuntimeException e)
+                {
+                    // A bad position from the GUI keeps the previous one rather than ending the engine
+                    send("info string invalid position: " + e.getMessage());
+                }
+                break;
+            case "go":
+                stopSearch();
+                try
+                {
+                    go(tokens);
+                }
+                catch (final RuntimeException e)
+                {
+                    send("info string invalid go command: " + e.getMessage());
+                }
+                break;
+            case "ponderhit":
+                if (this.searchLimits != null)
+                {
+                    this.searchLimits.ponderHit();
+                }
+                break;
+            case "stop":
+                stopSearch();
+                break;
+            case "quit":
+                return false;
+            default:
+                break;
+        }
+        return true;
+    }
+
+    private void setOption(final String[] tokens)
+    {
+        final String name = valueAfter(tokens, "name");
+        final String value = valueAfter(tokens, "value");
+        if (name == null || value == null)
+        {
+            return;
+        }
+        try
+        {
+            switch (name.toLowerCase())
+            {
+                case "hash":
+                    this.transpositionTable.resize(clamp(Integer.parseInt(value), 1, MAX_HASH_SIZE_MB));
+                    break;
+                case "threads":
+                    this.parameters = new SearchParameters.Builder(this.parameters)
+                            .setThreads(clamp(Integer.parseInt(value), 1, MAX_THREADS)).build();
+                    this.engine = createEngine();
+                    break;
+                case "multipv":
+                    this.parameters = new SearchParameters.Builder(this.parameters)
+                            .setMultiPv(clamp(Integer.parseInt(value), 1, MAX_MULTI_PV)).build();
+                    this.engine = createEngine();
+                    break;
+                case "ponder":
+                    // Pondering is driven by go ponder; the option only tells the GUI it may use it
+                    break;
+                default:
+                    send("info string unknown option " + name);
+                    break;
+            }
+        }
+        catch (final NumberFormatException e)
+        {
+            send("info string invalid value " + value + " for option " + name);
+        }
+    }
+
+    // position [startpos | fen <fen>] [moves <move> ...]
+    private Board parsePosition(final String[] tokens)
+    {
+        int index = 1;
+        Board position;
+        if (tokens.length > 1 && tokens[1].equals("fen"))
+        {
+            final StringBuilder fen = new StringBuilder();
+            index = 2;
+            while (index < tokens.length && !tokens[index].equals("moves"))
+            {
+                fen.append(tokens[index++]).append(' ');
+            }
+            position = FenUtilities.createGameFromFEN(fen.toString());
+        }
+        else
+        {
+            position = Board.createStandardBoard();
+            index = 2;
+        }
+        if (index < tokens.length && tokens[index].equals("moves"))
+        {
+            for (index++; index < tokens.length; index++)
+            {
+                final Move move = parseMove(position, tokens[index]);
+                final MoveTransition transition = position.currentPlayer().makeMove(move);
+                if (!transition.getMoveStatus().isDone())
+                {
+                    throw new RuntimeException("Illegal move: " + tokens[index]);
+                }
+                position = transition.getTransitionBoard();
+            }
+        }
+        return position;
+    }
+
+    // go [ponder] [depth N] [movetime T] [wtime W btime B winc I binc J movestogo M] [infinite]
+    private void go(final String[] tokens)
+    {
+        final String depthText = valueAfter(tokens, "depth");
+        final int depth = depthText != null ? clamp(Integer.parseInt(depthText), 1, MAX_DEPTH) : MAX_DEPTH;
+        final boolean ponder = contains(tokens, "ponder");
+        final SearchLimits limits = new SearchLimits(depth, timeLimit(tokens), ponder, contains(tokens, "infinite"));
+        final String limitName = limitName(tokens, depth);
+        final AlphaBeta searchEngine = this.engine;
+        final Board position = this.board;
+
+        this.searchLimits = limits;
+        this.searchThread = new Thread(() -> {
+            final SearchResult result = searchEngine.search(position, limits);
+            final Move bestMove = result.getBestMove();
+            final List<Move> principalVariation = result.getPrincipalVariation();
+            if (this.metrics != null)
+            {
+                this.metrics.onSearchComplete(limitName, result.getStatistics());
+            }
+            send("info string " + result.getStatistics().toString().replace("\n  ", ", "));
+            send("bestmove " + (bestMove != null ? toUci(bestMove) : "0000") +
+                 (principalVariation.size() > 1 ? " ponder " + toUci(principalVariation.get(1)) : ""));
+        }, "UCI search");
+        this.searchThread.start();
+    }
+
+    private long timeLimit(final String[] tokens)
+    {
+        final String moveTimeText = valueAfter(tokens, "movetime");
+        if (moveTimeText != null)
+        {
+            return Math.max(1, Long.parseLong(moveTimeText) - SearchLimits.MOVE_OVERHEAD_MILLIS);
+        }
+        if (contains(tokens, "infinite"))
+        {
+            return SearchLimits.NO_TIME_LIMIT;
+        }
+        final boolean white = this.board.currentPlayer().getAlliance().isWhite();
+        final String remainingText = valueAfter(tokens, white ? "wtime" : "btime");
+        if (remainingText == null)
+        {
+            return SearchLimits.NO_TIME_LIMIT;
+        }
+        final String incrementText = valueAfter(tokens, white ? "winc" : "binc");
+        final String movesToGoText = valueAfter(tokens, "movestogo");
+        final long remaining = Long.parseLong(remainingText);
+        final long increment = incrementText != null ? Long.parseLong(incrementText) : 0;
+        final int movesToGo = movesToGoText != null ? Integer.parseInt(movesToGoText) : SearchLimits.DEFAULT_MOVES_TO_GO;
+        return SearchLimits.timeForMove(remaining, increment, movesToGo);
+    }
+
+    // Groups searches for the latency metrics: by depth when only the depth is limited,
+    // otherwise by the kind of time control
+    private static String limitName(final String[] tokens, final int depth)
+    {
+        if (contains(tokens, "ponder"))
+        {
+            return "ponder";
+        }
+        if (contains(tokens, "infinite"))
+        {
+            return "infinite";
+        }
+        if (contains(tokens, "movetime"))
+        {
+            return "movetime";
+        }
+        if (contains(tokens, "wtime") || contains(tokens, "btime"))
+        {
+            return "clock";
+        }
+        return depth < MAX_DEPTH ? "depth " + depth : "infinite";
+    }
+
+    private void stopSearch()
+    {
+        if (this.searchThread == null)
+        {
+            return;
+        }
+        this.searchLimits.stop();
+        try
+        {
+            this.searchThread.join();
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        this.searchThread = null;
+        this.searchLimits = null;
+    }
+
+    private AlphaBeta createEngine()
+    {
+        final AlphaBeta alphaBeta = new AlphaBeta(MAX_DEPTH, new StandardBoardEvaluator(), this.parameters,
+                this.transpositionTable);
+        alphaBeta.addSearchListener(new SearchListener() {
+            @Override
+            public void onIterationComplete(final SearchResult result)
+            {
+                sendInfo(result);
+            }
+
+            @Override
+            public void onProgress(final SearchStatistics statistics)
+            {
+                if (metrics != null)
+                {
+                    metrics.onProgress(statistics);
+                }
+                send("info nodes " + statistics.getNodes() +
+                     " nps " + statistics.getNodesPerSecond() +
+                     " time " + statistics.getTimeMillis());
+            }
+        });
+        return alphaBeta;
+    }
+
+    private void sendInfo(final SearchResult result)
+    {
+        int multiPv = 1;
+        for (final PrincipalVariation line : result.getLines())
+        {
+            final StringBuilder info = new StringBuilder();
+            info.append("info depth ").append(result.getDepth())
+                .append(" multipv ").append(multiPv++)
+                .append(line.isMateScore() ? " score mate " + line.getMateDistance() : " score cp " + line.getScore())
+                .append(" nodes ").append(result.getNodes())
+                .append(" nps ").append(result.getNodesPerSecond())
+                .append(" time ").append(result.getTimeMillis())
+                .append(" pv");
+            for (final Move move : line.getMoves())
+            {
+                info.append(' ').append(toUci(move));
+            }
+            send(info.toString());
+        }
+    }
+
+    // Long algebraic notation as UCI expects it, e.g. e2e4 or e7e8q; promotions are always to a queen
+    public static String toUci(final Move move)
+    {
+        return BoardUtils.getPositionAtCoordinate(move.getCurrentCoordinate()) +
+               BoardUtils.getPositionAtCoordinate(move.getDestinationCoordinate()) +
+               (move.getPromotionType() != null ? move.getPromotionType().toString().toLowerCase() : "");
+    }
+
+    public static Move parseMove(final Board board, final String text)
+    {
+        if (text.length() < 4 ||
+            !BoardUtils.POSITION_TO_COORDINATE.containsKey(text.substring(0, 2)) ||
+            !BoardUtils.POSITION_TO_COORDINATE.containsKey(text.substring(2, 4)))
+        {
+            throw new RuntimeException("Invalid move: " + text);
+        }
+        final int currentCoordinate = BoardUtils.getCoordinateAtPosition(text.substring(0, 2));
+        final int destinationCoordinate = BoardUtils.getCoordinateAtPosition(text.substring(2, 4));
+        if (text.length() == 4)
+        {
+            return Move.MoveFactory.createMove(board, currentCoordinate, destinationCoordinate, null);
+        }
+        return Move.MoveFactory.createMove(board, currentCoordinate, destinationCoordinate, promotionType(text));
+    }
+
+    private static Piece.PieceType promotionType(final String text)
+    {
+        switch (text.charAt(4))
+        {
+            case 'q':
+                return Piece.PieceType.QUEEN;
+            case 'r':
+                return Piece.PieceType.ROOK;
+            case 'b':
+                return Piece.PieceType.BISHOP;
+            case 'n':
+                return Piece.PieceType.KNIGHT;
+            default:
+                throw new RuntimeException("Invalid move: " + text);
+        }
+    }
+
+    private static String valueAfter(final String[] tokens, final String key)
+    {
+        for (int i = 0; i < tokens.length - 1; i++)
+        {
+            if (tokens[i].equals(key))
+            {
+                return tokens[i + 1];
+            }
+        }
+        return null;
+    }
+
+    private static boolean contains(final String[] tokens, final String key)
+    {
+        for (final String token : tokens)
+        {
+            if (token.equals(key))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int clamp(final int value, final int min, final int max)
+    {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private synchronized void send(final String message)
+    {
+        this.out.println(message);
+        this.out.flush();
+    }
+}